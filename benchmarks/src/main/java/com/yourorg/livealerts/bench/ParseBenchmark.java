@@ -0,0 +1,69 @@
+package com.yourorg.livealerts.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.yourorg.livealerts.fetcher.EonetParser;
+import com.yourorg.livealerts.fetcher.UsgsParser;
+
+/**
+ * Streaming parse of feed bodies already in memory (no network): the bundled eonet.json
+ * (path from -Dlivealerts.eonet, default ../eonet.json) and synthetic USGS feeds.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+    /** Synthetic USGS body; a separate state so only the USGS benchmark is parameterised. */
+    @State(Scope.Benchmark)
+    public static class UsgsFeed {
+        @Param({"1000", "10000", "100000"})
+        public int features;
+
+        byte[] body;
+
+        @Setup
+        public void setup() {
+            body = SyntheticFeeds.usgsGeoJson(features);
+        }
+    }
+
+    private byte[] eonet;
+    private final EonetParser eonetParser = new EonetParser("EONET", "https://eonet.gsfc.nasa.gov/");
+    private final UsgsParser usgsParser = new UsgsParser("USGS", "https://earthquake.usgs.gov/");
+
+    @Setup
+    public void setup() throws IOException {
+        eonet = Files.readAllBytes(Path.of(System.getProperty("livealerts.eonet", "../eonet.json")));
+    }
+
+    @Benchmark
+    public void eonetBundled(Blackhole bh) throws IOException {
+        eonetParser.parse(new ByteArrayInputStream(eonet), bh::consume);
+    }
+
+    @Benchmark
+    public void usgsSynthetic(UsgsFeed feed, Blackhole bh) throws IOException {
+        usgsParser.parse(new ByteArrayInputStream(feed.body), bh::consume);
+    }
+}
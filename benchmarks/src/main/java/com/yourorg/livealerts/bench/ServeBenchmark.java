@@ -0,0 +1,49 @@
+package com.yourorg.livealerts.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.yourorg.livealerts.model.DisasterEvent;
+import com.yourorg.livealerts.server.EventSnapshot;
+
+/**
+ * Building the unfiltered {@code /events} body (JSON, gzip and ETag) from a fresh snapshot,
+ * which is the work done once per ingest that changed something. Cached hits are a map lookup
+ * and are not measured here.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ServeBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int events;
+
+    private List<DisasterEvent> table;
+    private long version;
+
+    @Setup
+    public void setup() {
+        table = SyntheticFeeds.events(events, 0);
+    }
+
+    @Benchmark
+    public EventSnapshot.Body serializeAll() {
+        return new EventSnapshot(++version, table).body(null, null);
+    }
+}
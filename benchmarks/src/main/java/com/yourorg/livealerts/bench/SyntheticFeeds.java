@@ -0,0 +1,71 @@
+package com.yourorg.livealerts.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/** Deterministic synthetic inputs shaped like the real feeds. */
+final class SyntheticFeeds {
+    private static final String[] CATEGORIES = {"earthquake", "Wildfires", "Severe Storms", "Volcanoes", "Floods"};
+
+    private SyntheticFeeds() { }
+
+    /** A USGS GeoJSON summary feed with {@code features} earthquakes. */
+    static byte[] usgsGeoJson(int features) {
+        Random r = new Random(42);
+        long t0 = 1_760_000_000_000L;
+        StringBuilder sb = new StringBuilder(features * 900);
+        sb.append("{\"type\":\"FeatureCollection\",\"metadata\":{\"generated\":").append(t0)
+                .append(",\"title\":\"USGS All Earthquakes, Past Day\",\"status\":200,\"count\":").append(features)
+                .append("},\"features\":[");
+        for (int i = 0; i < features; i++) {
+            if (i > 0) sb.append(',');
+            double mag = Math.round(r.nextDouble() * 70) / 10.0;
+            double lon = r.nextDouble() * 360 - 180;
+            double lat = r.nextDouble() * 180 - 90;
+            String id = "us7000" + Integer.toString(i, 36);
+            String place = (int) (r.nextDouble() * 100) + " km NE of Somewhere, CA";
+            sb.append(String.format(Locale.ROOT,
+                    "{\"type\":\"Feature\",\"properties\":{\"mag\":%.1f,\"place\":\"%s\",\"time\":%d,\"updated\":%d,"
+                            + "\"tz\":null,\"url\":\"https://earthquake.usgs.gov/earthquakes/eventpage/%s\","
+                            + "\"detail\":\"https://earthquake.usgs.gov/earthquakes/feed/v1.0/detail/%s.geojson\","
+                            + "\"felt\":null,\"cdi\":null,\"mmi\":null,\"alert\":null,\"status\":\"automatic\",\"tsunami\":0,"
+                            + "\"sig\":%d,\"net\":\"us\",\"code\":\"%s\",\"ids\":\",%s,\",\"sources\":\",us,\","
+                            + "\"types\":\",origin,phase-data,\",\"nst\":%d,\"dmin\":%.3f,\"rms\":%.2f,\"gap\":%d,"
+                            + "\"magType\":\"ml\",\"type\":\"earthquake\",\"title\":\"M %.1f - %s\"},"
+                            + "\"geometry\":{\"type\":\"Point\",\"coordinates\":[%.4f,%.4f,%.2f]},\"id\":\"%s\"}",
+                    mag, place, t0 - i * 60_000L, t0 - i * 30_000L, id, id, r.nextInt(1000), id, id,
+                    r.nextInt(100), r.nextDouble(), r.nextDouble(), r.nextInt(300), mag, place,
+                    lon, lat, r.nextDouble() * 50, id));
+        }
+        sb.append("],\"bbox\":[-180,-90,0,180,90,700]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** {@code n} events; ids start at {@code firstId} so successive batches do not collide. */
+    static List<DisasterEvent> events(int n, long firstId) {
+        Random r = new Random(firstId);
+        List<DisasterEvent> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            long id = firstId + i;
+            DisasterEvent e = new DisasterEvent();
+            e.setId("ev" + id);
+            e.setTitle("M " + (r.nextInt(70) / 10.0) + " - " + r.nextInt(100) + " km NE of Somewhere");
+            e.setCategory(CATEGORIES[(int) (id % CATEGORIES.length)]);
+            e.setSource(id % 2 == 0 ? "USGS" : "EONET");
+            e.setLat(r.nextDouble() * 180 - 90);
+            e.setLon(r.nextDouble() * 360 - 180);
+            e.setUrl("https://earthquake.usgs.gov/earthquakes/eventpage/ev" + id);
+            long time = 1_760_000_000_000L - id * 60_000L;
+            e.setTime(time);
+            e.setDate(Long.toString(time));
+            e.setMagnitude(r.nextInt(70) / 10.0);
+            out.add(e);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,80 @@
+package com.yourorg.livealerts.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.yourorg.livealerts.model.DisasterEvent;
+import com.yourorg.livealerts.storage.Database;
+
+/**
+ * Writing a fetched batch of new events into a fresh temporary SQLite file: one
+ * autocommitted {@code upsert} per row versus one batched {@code upsertAll} transaction.
+ * Scores are batches per second; multiply by {@code batchSize} for rows per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UpsertBenchmark {
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    private Path dir;
+    private Database db;
+    private long nextId;
+    private List<DisasterEvent> batch;
+
+    @Setup(Level.Iteration)
+    public void openDatabase() throws IOException, SQLException {
+        dir = Files.createTempDirectory("livealerts-bench");
+        db = new Database(dir.resolve("bench.db").toString());
+        nextId = 0;
+    }
+
+    @Setup(Level.Invocation)
+    public void nextBatch() {
+        // fresh ids every call, so each row is a real insert
+        batch = SyntheticFeeds.events(batchSize, nextId);
+        nextId += batchSize;
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeDatabase() throws IOException, SQLException {
+        db.close();
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public void singleRowUpsert() throws SQLException {
+        for (DisasterEvent e : batch) db.upsert(e);
+    }
+
+    @Benchmark
+    public Database.UpsertResult batchedUpsertAll() throws SQLException {
+        return db.upsertAll(batch);
+    }
+}
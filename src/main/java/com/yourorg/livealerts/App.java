@@ -0,0 +1,79 @@
+package com.yourorg.livealerts;
+
+import java.sql.SQLException;
+
+import com.yourorg.livealerts.geo.GeoIndex;
+import com.yourorg.livealerts.ingest.Archiver;
+import com.yourorg.livealerts.ingest.Ingestor;
+import com.yourorg.livealerts.rules.RuleEngine;
+import com.yourorg.livealerts.server.EventStream;
+import com.yourorg.livealerts.server.HttpServer;
+import com.yourorg.livealerts.server.SnapshotStore;
+import com.yourorg.livealerts.service.NotificationDispatcher;
+import com.yourorg.livealerts.service.NotificationService;
+import com.yourorg.livealerts.service.OutboxSender;
+import com.yourorg.livealerts.stats.StatsIndex;
+import com.yourorg.livealerts.storage.Database;
+import com.yourorg.livealerts.storage.EventCache;
+
+/**
+ * Everything behind the ingest path, wired in one place: the in-memory views registered as
+ * change listeners, alert rules and their outbox, and retention. Main and the load test both
+ * build the app through {@link #wire}, so a new view only has to be added here. Fetchers and
+ * their schedule stay with the caller.
+ */
+public record App(Database db, Ingestor ingestor, SnapshotStore snapshots, EventStream eventStream,
+                  GeoIndex geoIndex, StatsIndex statsIndex, EventCache eventCache,
+                  NotificationDispatcher notifications, RuleEngine ruleEngine, OutboxSender outboxSender,
+                  Archiver archiver) {
+
+    public static App wire(Database db, Archiver.Policy retention) throws SQLException {
+        Ingestor ingestor = new Ingestor(db);
+        // in-memory view served by /events, refreshed after every ingest write
+        SnapshotStore snapshots = new SnapshotStore(db);
+        ingestor.addListener(snapshots);
+        // pushes new/updated events to dashboards on /events/stream
+        EventStream eventStream = new EventStream();
+        ingestor.addListener(eventStream);
+        // spatial index for bbox / near queries
+        GeoIndex geoIndex = new GeoIndex(snapshots.current().events());
+        ingestor.addListener(geoIndex);
+        // per category / source / hour aggregates for /stats
+        StatsIndex statsIndex = new StatsIndex(snapshots.current().events());
+        ingestor.addListener(statsIndex);
+        // point lookups by (id, source) for per-event endpoints
+        EventCache eventCache = new EventCache(db);
+        ingestor.addListener(eventCache);
+
+        // alert emails are sent in the background over reused SMTP connections
+        NotificationDispatcher notifications = new NotificationDispatcher(new NotificationService());
+        // subscription rules checked against every new/updated event; matching deliveries are
+        // written to the outbox with the events and sent from there
+        RuleEngine ruleEngine = new RuleEngine(db);
+        ingestor.setOutboxPlanner(ruleEngine);
+        OutboxSender outboxSender = new OutboxSender(db, notifications);
+        ingestor.addListener(outboxSender);
+
+        // moves events past the retention age (and gone from their feed) to archive tables
+        Archiver archiver = new Archiver(db, ingestor, retention);
+        return new App(db, ingestor, snapshots, eventStream, geoIndex, statsIndex, eventCache,
+                notifications, ruleEngine, outboxSender, archiver);
+    }
+
+    /** Starts the background workers: outbox delivery and retention. */
+    public void start() {
+        outboxSender.start();
+        archiver.start();
+    }
+
+    public HttpServer serve(int port) {
+        return new HttpServer(db, snapshots, eventStream, geoIndex, eventCache, notifications, ruleEngine,
+                statsIndex, port);
+    }
+
+    public void shutdown() {
+        archiver.shutdown();
+        outboxSender.shutdown();
+        notifications.shutdown();
+    }
+}
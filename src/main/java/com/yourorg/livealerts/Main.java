@@ -3,20 +3,25 @@ package com.yourorg.livealerts;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
+import com.yourorg.livealerts.backfill.Backfill;
 import com.yourorg.livealerts.fetcher.EonetFetcher;
+import com.yourorg.livealerts.fetcher.FeedClient;
+import com.yourorg.livealerts.fetcher.StreamingFetcher;
 import com.yourorg.livealerts.fetcher.UsgsFetcher;
-import com.yourorg.livealerts.model.DisasterEvent;
-import com.yourorg.livealerts.server.HttpServer;
+import com.yourorg.livealerts.ingest.Archiver;
+import com.yourorg.livealerts.ingest.FetchScheduler;
 import com.yourorg.livealerts.storage.Database;
 
 public class Main {
     public static void main(String[] args) throws Exception {
+        // one-off historical load instead of the server, e.g. "backfill usgs --from 2024-01-01 --to 2025-01-01"
+        if (args.length > 0 && args[0].equals("backfill")) {
+            System.exit(Backfill.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
         System.out.println("Starting Live Alerts...");
 
         // ensure data folder exists
@@ -24,35 +29,44 @@ public class Main {
         if (!Files.exists(data)) Files.createDirectories(data);
         String dbFile = "data/livealerts.db";
         Database db = new Database(dbFile);
+        // Retention: move events older than RETENTION_DAYS (and gone from their feed) to archive tables
+        int retentionDays = System.getenv("RETENTION_DAYS") != null
+                ? Integer.parseInt(System.getenv("RETENTION_DAYS"))
+                : 30;
+        int archiveBatch = System.getenv("ARCHIVE_BATCH") != null
+                ? Integer.parseInt(System.getenv("ARCHIVE_BATCH"))
+                : 500;
+        int archiveEveryMinutes = System.getenv("ARCHIVE_INTERVAL_MINUTES") != null
+                ? Integer.parseInt(System.getenv("ARCHIVE_INTERVAL_MINUTES"))
+                : 15;
+        App app = App.wire(db, new Archiver.Policy(
+                Duration.ofDays(retentionDays), archiveBatch, Duration.ofMinutes(archiveEveryMinutes)));
+        app.start();
 
-        // register fetchers
-        List<com.yourorg.livealerts.fetcher.Fetcher> fetchers = List.of(
-                new EonetFetcher(),
-                new UsgsFetcher()
+        // register fetchers (sharing one pooled HTTP client)
+        FeedClient feedClient = new FeedClient();
+        List<StreamingFetcher> fetchers = List.of(
+                new EonetFetcher(feedClient),
+                new UsgsFetcher(feedClient)
         );
 
-        // Scheduler: poll every 60 seconds
-        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
-        Runnable job = () -> {
-            for (var f : fetchers) {
-                try {
-                    System.out.println("Polling " + f.sourceName() + " ...");
-                    List<DisasterEvent> events = f.fetch();
-                    for (var e : events) {
-                        try { db.upsert(e); } catch (SQLException ex) { ex.printStackTrace(); }
-                    }
-                    System.out.println("Fetched " + events.size() + " from " + f.sourceName());
-                } catch (Exception ex) {
-                    System.err.println("Error fetching from " + f.sourceName());
-                    ex.printStackTrace();
-                }
-            }
-        };
-
-        // initial run
-        job.run();
-        // schedule: run every 60 seconds (first run after 60s)
-        scheduler.scheduleAtFixedRate(job, 60, 60, TimeUnit.SECONDS);
+        // Scheduler: each source polls on its own virtual thread, starting every ~60 seconds and
+        // adapting between POLL_MIN_SECONDS (busy feed) and POLL_MAX_SECONDS (quiet feed)
+        int pollMinSeconds = System.getenv("POLL_MIN_SECONDS") != null
+                ? Integer.parseInt(System.getenv("POLL_MIN_SECONDS"))
+                : 15;
+        int pollMaxSeconds = System.getenv("POLL_MAX_SECONDS") != null
+                ? Integer.parseInt(System.getenv("POLL_MAX_SECONDS"))
+                : 300;
+        FetchScheduler scheduler = new FetchScheduler(app.ingestor());
+        for (StreamingFetcher f : fetchers) {
+            scheduler.schedule(f, new FetchScheduler.Schedule(
+                    Duration.ofSeconds(Math.max(pollMinSeconds, Math.min(pollMaxSeconds, 60))),
+                    Duration.ofSeconds(pollMinSeconds), Duration.ofSeconds(pollMaxSeconds),
+                    Duration.ofSeconds(5), Duration.ofSeconds(45)));
+        }
+        // first poll of every source starts immediately
+        scheduler.start();
 
         // Render-safe port handling
         int renderPort = System.getenv("PORT") != null
@@ -60,13 +74,14 @@ public class Main {
                 : 4567;  // default for local dev
 
         // start HTTP server on correct port
-        com.yourorg.livealerts.service.NotificationService notificationService =
-                new com.yourorg.livealerts.service.NotificationService();
-        HttpServer httpServer = new HttpServer(db, notificationService, renderPort);
+        app.serve(renderPort);
 
         // add shutdown hook
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             scheduler.shutdown();
+            app.shutdown();
+            try { feedClient.close(); } catch (Exception ignored) { }
+            try { db.close(); } catch (Exception ignored) { }
             System.out.println("Shutting down...");
         }));
     }
@@ -0,0 +1,173 @@
+package com.yourorg.livealerts.backfill;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.yourorg.livealerts.fetcher.FeedClient;
+import com.yourorg.livealerts.model.DisasterEvent;
+import com.yourorg.livealerts.storage.Database;
+
+/**
+ * Loads historical events straight into the database:
+ *
+ * <pre>
+ * backfill usgs  --from 2024-01-01 --to 2025-01-01 [--window-days 7] [--parallel 4]
+ * backfill eonet --from 2024-01-01 --to 2025-01-01
+ * backfill usgs  --dir dumps/usgs            (local feed dumps, *.json or *.json.gz)
+ *        [--db data/livealerts.db] [--batch 50000]
+ * </pre>
+ *
+ * Units (time windows or files) are fetched in parallel and handed to a single writer, which
+ * stores them in transactions of about {@code --batch} events with the secondary indexes
+ * dropped and fsync off, then rebuilds the indexes once. Each transaction also checkpoints
+ * its units, so rerunning the same command skips what is already loaded. Meant to run while
+ * the app is stopped; the app picks the history up on its next start.
+ */
+public class Backfill {
+
+    // a unit's events, or the reason it could not be read
+    private record Loaded(BackfillUnit unit, List<DisasterEvent> events, Exception error) {}
+
+    public static void main(String[] args) throws Exception {
+        System.exit(run(args));
+    }
+
+    /** Runs the command; returns the process exit code. */
+    public static int run(String[] args) throws Exception {
+        if (args.length == 0 || args[0].startsWith("--")) {
+            System.err.println("Usage: backfill usgs|eonet (--from YYYY-MM-DD --to YYYY-MM-DD | --dir DUMPS)"
+                    + " [--window-days N] [--parallel N] [--batch N] [--db FILE]");
+            return 2;
+        }
+        String source = args[0].toUpperCase(Locale.ROOT);
+        if (!source.equals("USGS") && !source.equals("EONET")) {
+            System.err.println("Unknown source: " + args[0] + " (expected usgs or eonet)");
+            return 2;
+        }
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                System.err.println("Expected --name value, got: " + args[i]);
+                return 2;
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        int parallel = Integer.parseInt(opts.getOrDefault("parallel", "4"));
+        int batch = Integer.parseInt(opts.getOrDefault("batch", "50000"));
+        String dbFile = opts.getOrDefault("db", "data/livealerts.db");
+
+        FeedClient client = new FeedClient();
+        List<BackfillUnit> units;
+        String job;
+        if (opts.containsKey("dir")) {
+            units = BackfillUnit.dumpFiles(Path.of(opts.get("dir")), source);
+            job = source + " files";
+        } else {
+            if (!opts.containsKey("from") || !opts.containsKey("to")) {
+                System.err.println("--from and --to are required unless --dir is given");
+                return 2;
+            }
+            LocalDate from = LocalDate.parse(opts.get("from"));
+            LocalDate to = LocalDate.parse(opts.get("to"));
+            int windowDays = Integer.parseInt(opts.getOrDefault("window-days", "7"));
+            units = source.equals("USGS")
+                    ? BackfillUnit.usgsWindows(client, from, to, windowDays)
+                    : BackfillUnit.eonetWindows(client, from, to, windowDays);
+            job = source + " api";
+        }
+
+        Path parent = Path.of(dbFile).toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Database db = new Database(dbFile);
+        try {
+            return load(db, job, units, parallel, batch);
+        } finally {
+            client.close();
+            db.close();
+        }
+    }
+
+    private static int load(Database db, String job, List<BackfillUnit> units, int parallel, int batch)
+            throws Exception {
+        Set<String> done = db.backfilledUnits(job);
+        List<BackfillUnit> pending = new ArrayList<>();
+        for (BackfillUnit u : units) {
+            if (!done.contains(u.key())) pending.add(u);
+        }
+        System.out.println("Backfill " + job + ": " + pending.size() + " of " + units.size() + " units to load"
+                + (done.isEmpty() ? "" : " (" + (units.size() - pending.size()) + " done in earlier runs)"));
+        if (pending.isEmpty()) return 0;
+
+        long start = System.nanoTime();
+        // finished units wait here for the writer; a full queue pauses the fetchers
+        BlockingQueue<Loaded> loaded = new ArrayBlockingQueue<>(parallel * 2);
+        ExecutorService fetchers = Executors.newFixedThreadPool(parallel, Thread.ofVirtual().factory());
+        for (BackfillUnit u : pending) {
+            fetchers.submit(() -> {
+                Loaded result;
+                try {
+                    List<DisasterEvent> events = new ArrayList<>();
+                    u.read(events::add);
+                    result = new Loaded(u, events, null);
+                } catch (Exception ex) {
+                    result = new Loaded(u, null, ex);
+                }
+                loaded.put(result);
+                return null;
+            });
+        }
+        fetchers.shutdown();
+
+        db.beginBulkLoad();
+        int failed = 0;
+        long stored = 0;
+        try {
+            List<DisasterEvent> events = new ArrayList<>();
+            Map<String, Integer> batchUnits = new LinkedHashMap<>();
+            for (int i = 0; i < pending.size(); i++) {
+                Loaded l = loaded.take();
+                if (l.error() != null) {
+                    failed++;
+                    System.err.println("Backfill of " + l.unit().key() + " failed: " + l.error());
+                } else {
+                    for (DisasterEvent e : l.events()) {
+                        if (e.getTime() == 0) e.setTime(DisasterEvent.parseTime(e.getDate()));
+                    }
+                    events.addAll(l.events());
+                    batchUnits.put(l.unit().key(), l.events().size());
+                }
+                boolean last = i == pending.size() - 1;
+                if (!batchUnits.isEmpty() && (events.size() >= batch || last)) {
+                    db.bulkInsert(events, job, batchUnits);
+                    stored += events.size();
+                    double secs = (System.nanoTime() - start) / 1e9;
+                    System.out.printf(Locale.ROOT, "  %d/%d units, %d events stored (%.0f events/s)%n",
+                            i + 1, pending.size(), stored, stored / secs);
+                    events.clear();
+                    batchUnits.clear();
+                }
+            }
+        } finally {
+            fetchers.shutdownNow();
+            System.out.println("Rebuilding indexes...");
+            db.endBulkLoad();
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "Backfill %s: %d events in %.1f s (%.0f events/s), %d units failed%n",
+                job, stored, secs, stored / secs, failed);
+        if (failed > 0) System.err.println("Run the same command again to retry the failed units.");
+        return failed > 0 ? 1 : 0;
+    }
+}
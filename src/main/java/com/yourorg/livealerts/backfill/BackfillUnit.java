@@ -0,0 +1,147 @@
+package com.yourorg.livealerts.backfill;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import com.yourorg.livealerts.fetcher.EonetParser;
+import com.yourorg.livealerts.fetcher.FeedClient;
+import com.yourorg.livealerts.fetcher.StreamingFetcher;
+import com.yourorg.livealerts.fetcher.UsgsParser;
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * A slice of history that is fetched, stored and checkpointed as a whole: a time window of
+ * an archive API or one local dump file. The key identifies it across runs.
+ */
+public interface BackfillUnit {
+
+    String key();
+
+    /** Emits every event of the slice. */
+    void read(Consumer<DisasterEvent> sink) throws Exception;
+
+    /** USGS FDSN event service; at most 20000 events per query, so full windows are split. */
+    String USGS_FDSN = "https://earthquake.usgs.gov/fdsnws/event/1/query";
+    /** EONET v3 events, filtered to those closed within the window. */
+    String EONET_EVENTS = "https://eonet.gsfc.nasa.gov/api/v3/events";
+
+    /** USGS earthquakes in [from, to), one unit per {@code windowDays}. */
+    static List<BackfillUnit> usgsWindows(FeedClient client, LocalDate from, LocalDate to, int windowDays) {
+        String base = StreamingFetcher.endpoint("livealerts.usgs.fdsn.url", "USGS_FDSN_URL", USGS_FDSN);
+        UsgsParser parser = new UsgsParser("USGS", base);
+        List<BackfillUnit> out = new ArrayList<>();
+        for (LocalDate d = from; d.isBefore(to); d = d.plusDays(windowDays)) {
+            LocalDate end = d.plusDays(windowDays).isAfter(to) ? to : d.plusDays(windowDays);
+            out.add(new UsgsWindow(client, parser, base, instant(d), instant(end)));
+        }
+        return out;
+    }
+
+    /** EONET events closed in [from, to), one unit per {@code windowDays}. */
+    static List<BackfillUnit> eonetWindows(FeedClient client, LocalDate from, LocalDate to, int windowDays) {
+        String base = StreamingFetcher.endpoint("livealerts.eonet.history.url", "EONET_HISTORY_URL", EONET_EVENTS);
+        EonetParser parser = new EonetParser("EONET", base);
+        List<BackfillUnit> out = new ArrayList<>();
+        for (LocalDate d = from; d.isBefore(to); d = d.plusDays(windowDays)) {
+            LocalDate end = d.plusDays(windowDays).isAfter(to) ? to : d.plusDays(windowDays);
+            // EONET's end date is inclusive
+            String url = base + "?status=closed&start=" + d + "&end=" + end.minusDays(1);
+            out.add(new EonetWindow(client, parser, url, d + "/" + end));
+        }
+        return out;
+    }
+
+    /**
+     * Every file in {@code dir} (optionally gzipped), saved from the feed of {@code source}:
+     * USGS GeoJSON or EONET events JSON.
+     */
+    static List<BackfillUnit> dumpFiles(Path dir, String source) throws IOException {
+        List<BackfillUnit> out = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.filter(Files::isRegularFile).sorted().toList()) {
+                out.add(new DumpFile(p, source));
+            }
+        }
+        if (out.isEmpty()) throw new IOException("No dump files in " + dir);
+        return out;
+    }
+
+    private static Instant instant(LocalDate d) {
+        return d.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    record UsgsWindow(FeedClient client, UsgsParser parser, String base, Instant start, Instant end)
+            implements BackfillUnit {
+        private static final Duration MIN_SPLIT = Duration.ofHours(1);
+
+        @Override
+        public String key() {
+            return start + "/" + end;
+        }
+
+        @Override
+        public void read(Consumer<DisasterEvent> sink) throws Exception {
+            read(start, end, sink);
+        }
+
+        private void read(Instant from, Instant to, Consumer<DisasterEvent> sink) throws Exception {
+            String url = base + "?format=geojson&orderby=time-asc&limit=20000"
+                    + "&starttime=" + DateTimeFormatter.ISO_INSTANT.format(from)
+                    + "&endtime=" + DateTimeFormatter.ISO_INSTANT.format(to);
+            // collect first: a rejected (over-limit) query must not leave half a window behind
+            List<DisasterEvent> events = new ArrayList<>();
+            try {
+                client.get("USGS history", url, in -> {
+                    parser.parse(in, events::add);
+                    return null;
+                });
+            } catch (FeedClient.HttpStatusException ex) {
+                Duration span = Duration.between(from, to);
+                if (ex.status() != 400 || span.compareTo(MIN_SPLIT) <= 0) throw ex;
+                Instant mid = from.plus(span.dividedBy(2));
+                read(from, mid, sink);
+                read(mid, to, sink);
+                return;
+            }
+            events.forEach(sink);
+        }
+    }
+
+    record EonetWindow(FeedClient client, EonetParser parser, String url, String key) implements BackfillUnit {
+        @Override
+        public void read(Consumer<DisasterEvent> sink) throws Exception {
+            client.get("EONET history", url, in -> {
+                parser.parse(in, sink);
+                return null;
+            });
+        }
+    }
+
+    record DumpFile(Path path, String source) implements BackfillUnit {
+        @Override
+        public String key() {
+            return path.getFileName().toString();
+        }
+
+        @Override
+        public void read(Consumer<DisasterEvent> sink) throws Exception {
+            try (InputStream raw = Files.newInputStream(path);
+                 InputStream in = path.toString().endsWith(".gz") ? new GZIPInputStream(raw, 65536) : raw) {
+                if (source.equals("USGS")) new UsgsParser(source, path.toUri().toString()).parse(in, sink);
+                else new EonetParser(source, path.toUri().toString()).parse(in, sink);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.yourorg.livealerts.fetcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * Streams an EONET v3 events document and emits one {@link DisasterEvent} per event
+ * without building a JSON tree, so memory use does not depend on the feed size.
+ */
+public class EonetParser {
+    private final String sourceName;
+    private final String fallbackUrl;
+
+    public EonetParser(String sourceName, String fallbackUrl) {
+        this.sourceName = sourceName;
+        this.fallbackUrl = fallbackUrl;
+    }
+
+    public void parse(InputStream in, Consumer<DisasterEvent> sink) throws IOException {
+        JsonReader r = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        r.beginObject();
+        while (r.hasNext()) {
+            if (r.nextName().equals("events") && r.peek() == JsonToken.BEGIN_ARRAY) {
+                r.beginArray();
+                while (r.hasNext()) sink.accept(readEvent(r));
+                r.endArray();
+            } else {
+                r.skipValue();
+            }
+        }
+        r.endObject();
+    }
+
+    private DisasterEvent readEvent(JsonReader r) throws IOException {
+        DisasterEvent d = new DisasterEvent();
+        d.setTitle("n/a");
+        d.setCategory("unknown");
+        d.setUrl(fallbackUrl);
+        d.setSource(sourceName);
+        d.setMagnitude(0.0);
+        boolean located = false;
+        String closed = null;
+        double[] point = new double[2];
+
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "id" -> d.setId(JsonStreams.nextStringOrNull(r));
+                case "title" -> {
+                    String title = JsonStreams.nextStringOrNull(r);
+                    if (title != null) d.setTitle(title);
+                }
+                case "categories" -> {
+                    String category = firstMember(r, "title");
+                    if (category != null) d.setCategory(category);
+                }
+                case "closed" -> closed = JsonStreams.nextStringOrNull(r);
+                case "sources" -> {
+                    String url = firstMember(r, "url");
+                    if (url != null) d.setUrl(url);
+                }
+                case "geometry" -> {
+                    // EONET lists the track oldest first; keep the latest position
+                    if (r.peek() != JsonToken.BEGIN_ARRAY) {
+                        r.skipValue();
+                        break;
+                    }
+                    r.beginArray();
+                    while (r.hasNext()) {
+                        String date = null;
+                        boolean hasPoint = false;
+                        r.beginObject();
+                        while (r.hasNext()) {
+                            switch (r.nextName()) {
+                                case "date" -> date = JsonStreams.nextStringOrNull(r);
+                                // EONET geometry order is [lon, lat]
+                                case "coordinates" -> hasPoint = JsonStreams.readFirstPoint(r, point);
+                                default -> r.skipValue();
+                            }
+                        }
+                        r.endObject();
+                        if (hasPoint) {
+                            d.setLon(point[0]);
+                            d.setLat(point[1]);
+                        }
+                        if (date != null) d.setDate(date);
+                        located = true;
+                    }
+                    r.endArray();
+                }
+                default -> r.skipValue();
+            }
+        }
+        r.endObject();
+
+        if (!located) {
+            d.setLat(0);
+            d.setLon(0);
+        }
+        // the date is part of the content hash, so the fallback must be stable across polls:
+        // the closing date if there is one, else no date (time 0), never the time of the poll
+        if (d.getDate() == null) d.setDate(closed != null ? closed : "");
+        d.setTime(DisasterEvent.parseTime(d.getDate()));
+        return d;
+    }
+
+    // Returns the named string member of the first object in an array, skipping the rest
+    private static String firstMember(JsonReader r, String member) throws IOException {
+        if (r.peek() != JsonToken.BEGIN_ARRAY) {
+            r.skipValue();
+            return null;
+        }
+        String value = null;
+        boolean first = true;
+        r.beginArray();
+        while (r.hasNext()) {
+            if (first && r.peek() == JsonToken.BEGIN_OBJECT) {
+                r.beginObject();
+                while (r.hasNext()) {
+                    if (r.nextName().equals(member)) value = JsonStreams.nextStringOrNull(r);
+                    else r.skipValue();
+                }
+                r.endObject();
+            } else {
+                r.skipValue();
+            }
+            first = false;
+        }
+        r.endArray();
+        return value;
+    }
+}
@@ -0,0 +1,202 @@
+package com.yourorg.livealerts.fetcher;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import com.yourorg.livealerts.metrics.Counter;
+import com.yourorg.livealerts.metrics.Histogram;
+import com.yourorg.livealerts.metrics.MetricsRegistry;
+
+/**
+ * Long-lived HTTP client shared by all fetchers. Connections (and their TLS sessions)
+ * are pooled and kept alive between polls, and each source's ETag / Last-Modified
+ * validators are replayed so an unchanged feed costs a bodiless 304.
+ */
+public class FeedClient implements Closeable {
+    private static final String UA = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/120 Safari/537.36";
+
+    private static FeedClient shared;
+
+    /** Reads a successful response body; the stream is closed by the client afterwards. */
+    public interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    /** A non-2xx answer; {@link #status()} tells e.g. a rejected query (400) from an outage. */
+    public static class HttpStatusException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        public HttpStatusException(String message, int status) {
+            super(message);
+            this.status = status;
+        }
+
+        public int status() {
+            return status;
+        }
+    }
+
+    // validators are only replayed for the url they were issued for
+    private record Validators(String url, String etag, String lastModified) {}
+
+    // per-source series, looked up once per source
+    private record SourceMetrics(Histogram connect, Histogram download, Histogram parse,
+                                 Counter bytes, Counter notModified) {
+        static SourceMetrics of(String source) {
+            MetricsRegistry m = MetricsRegistry.shared();
+            String phaseHelp = "Feed fetch phases: connect is until response headers, download is time blocked"
+                    + " reading the body, parse is the rest of the streaming parse";
+            return new SourceMetrics(
+                    m.histogram("livealerts_fetch_phase_seconds", phaseHelp, "source", source, "phase", "connect"),
+                    m.histogram("livealerts_fetch_phase_seconds", phaseHelp, "source", source, "phase", "download"),
+                    m.histogram("livealerts_fetch_phase_seconds", phaseHelp, "source", source, "phase", "parse"),
+                    m.counter("livealerts_fetch_body_bytes_total", "Feed response body bytes read, after content decoding",
+                            "source", source),
+                    m.counter("livealerts_fetch_not_modified_total", "Polls answered with 304 Not Modified",
+                            "source", source));
+        }
+    }
+
+    private final CloseableHttpClient http;
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+    private final Map<String, SourceMetrics> metrics = new ConcurrentHashMap<>();
+
+    public FeedClient() {
+        var sslSocketFactory = SSLConnectionSocketFactoryBuilder.create()
+                .setSslContext(SSLContexts.createSystemDefault())
+                .build();
+        var connManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setSSLSocketFactory(sslSocketFactory)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofSeconds(10))
+                        .setSocketTimeout(Timeout.ofSeconds(15))
+                        .build())
+                .setMaxConnPerRoute(4)
+                .setMaxConnTotal(20)
+                .build();
+        http = HttpClients.custom()
+                .setUserAgent(UA)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofSeconds(15))
+                        .build())
+                .setConnectionManager(connManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMinutes(5))
+                .build();
+    }
+
+    /** Process-wide client used by fetchers created without an explicit one. */
+    public static synchronized FeedClient shared() {
+        if (shared == null) shared = new FeedClient();
+        return shared;
+    }
+
+    /**
+     * GETs {@code url} on behalf of {@code source}, sending the validators from that source's
+     * previous response. Returns null when the server answered 304 Not Modified.
+     *
+     * @throws IOException on transport errors and non-2xx responses
+     */
+    public <T> T get(String source, String url, BodyReader<T> reader) throws IOException {
+        HttpGet request = new HttpGet(url);
+        request.addHeader(HttpHeaders.ACCEPT, "application/json");
+        Validators previous = validators.get(source);
+        if (previous != null && previous.url().equals(url)) {
+            if (previous.etag() != null) request.addHeader(HttpHeaders.IF_NONE_MATCH, previous.etag());
+            if (previous.lastModified() != null) request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+        }
+
+        SourceMetrics m = metrics.computeIfAbsent(source, SourceMetrics::of);
+        long start = System.nanoTime();
+        return http.execute(request, response -> {
+            long headers = System.nanoTime();
+            m.connect().observeNanos(headers - start);
+            int status = response.getCode();
+            if (status == HttpStatus.SC_NOT_MODIFIED) {
+                EntityUtils.consume(response.getEntity());
+                m.notModified().inc();
+                return null;
+            }
+            if (status < 200 || status >= 300 || response.getEntity() == null) {
+                EntityUtils.consume(response.getEntity());
+                throw new HttpStatusException(source + " fetch failed: HTTP " + status, status);
+            }
+            T result;
+            // the body is parsed while it streams in, so download and parse are told apart by
+            // timing the reads the parser makes
+            MeteredStream in = new MeteredStream(response.getEntity().getContent());
+            try (in) {
+                result = reader.read(in);
+            }
+            m.download().observeNanos(in.readNanos);
+            m.parse().observeNanos(System.nanoTime() - headers - in.readNanos);
+            m.bytes().add(in.bytes);
+            // only remember validators once the body was read successfully
+            Header etag = response.getFirstHeader(HttpHeaders.ETAG);
+            Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+            if (etag != null || lastModified != null) {
+                validators.put(source, new Validators(url,
+                        etag != null ? etag.getValue() : null,
+                        lastModified != null ? lastModified.getValue() : null));
+            } else {
+                validators.remove(source);
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        http.close();
+    }
+
+    /** Counts bytes and the time spent blocked in reads. Used by one thread at a time. */
+    private static final class MeteredStream extends FilterInputStream {
+        long bytes;
+        long readNanos;
+
+        MeteredStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long t = System.nanoTime();
+            int b = super.read();
+            readNanos += System.nanoTime() - t;
+            if (b >= 0) bytes++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            long t = System.nanoTime();
+            int n = super.read(buf, off, len);
+            readNanos += System.nanoTime() - t;
+            if (n > 0) bytes += n;
+            return n;
+        }
+    }
+}
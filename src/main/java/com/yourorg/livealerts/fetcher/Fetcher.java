@@ -1,10 +1,22 @@
 package com.yourorg.livealerts.fetcher;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import com.yourorg.livealerts.model.DisasterEvent;
 
 public interface Fetcher {
+    /**
+     * Returned by {@link #fetch()} when the source reported that nothing changed since the
+     * previous poll. Compare by identity via {@link #isNotModified(List)}.
+     */
+    List<DisasterEvent> NOT_MODIFIED = Collections.unmodifiableList(new ArrayList<>(0));
+
     List<DisasterEvent> fetch() throws Exception;
     String sourceName();
+
+    static boolean isNotModified(List<DisasterEvent> events) {
+        return events == NOT_MODIFIED;
+    }
 }
@@ -0,0 +1,51 @@
+package com.yourorg.livealerts.fetcher;
+
+import java.io.IOException;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/** Small helpers shared by the streaming feed parsers. */
+final class JsonStreams {
+    private JsonStreams() { }
+
+    /** Reads a string (or number as string); returns null for JSON null, skips anything else. */
+    static String nextStringOrNull(JsonReader r) throws IOException {
+        JsonToken t = r.peek();
+        if (t == JsonToken.STRING || t == JsonToken.NUMBER) return r.nextString();
+        r.skipValue();
+        return null;
+    }
+
+    /** Reads a number; returns null for JSON null or non-numeric values. */
+    static Double nextDoubleOrNull(JsonReader r) throws IOException {
+        if (r.peek() == JsonToken.NUMBER) return r.nextDouble();
+        r.skipValue();
+        return null;
+    }
+
+    /**
+     * Reads a GeoJSON coordinates value into {@code out} as [lon, lat]. For nested
+     * geometries (lines, polygons) the first point is used. Returns false if no point was found.
+     */
+    static boolean readFirstPoint(JsonReader r, double[] out) throws IOException {
+        if (r.peek() != JsonToken.BEGIN_ARRAY) {
+            r.skipValue();
+            return false;
+        }
+        r.beginArray();
+        boolean found;
+        if (r.hasNext() && r.peek() == JsonToken.BEGIN_ARRAY) {
+            found = readFirstPoint(r, out);
+        } else {
+            int n = 0;
+            while (r.hasNext() && n < 2 && r.peek() == JsonToken.NUMBER) {
+                out[n++] = r.nextDouble();
+            }
+            found = n == 2;
+        }
+        while (r.hasNext()) r.skipValue();
+        r.endArray();
+        return found;
+    }
+}
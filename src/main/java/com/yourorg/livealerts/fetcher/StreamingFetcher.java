@@ -0,0 +1,51 @@
+package com.yourorg.livealerts.fetcher;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * A source that pushes events to a sink as they are parsed, instead of returning the whole
+ * feed as a list. The sink may block to apply backpressure, so a slow consumer throttles the
+ * download rather than letting parsed events pile up in memory.
+ */
+public interface StreamingFetcher {
+
+    /**
+     * Streams the current feed into {@code sink}, in feed order. Returns false, having emitted
+     * nothing, when the source reported that nothing changed since the previous poll.
+     */
+    boolean fetch(Consumer<DisasterEvent> sink) throws Exception;
+
+    String sourceName();
+
+    /** Streams a list-based fetcher's result; the list is still materialized first. */
+    static StreamingFetcher of(Fetcher fetcher) {
+        return new StreamingFetcher() {
+            @Override
+            public boolean fetch(Consumer<DisasterEvent> sink) throws Exception {
+                List<DisasterEvent> events = fetcher.fetch();
+                if (Fetcher.isNotModified(events)) return false;
+                events.forEach(sink);
+                return true;
+            }
+
+            @Override
+            public String sourceName() {
+                return fetcher.sourceName();
+            }
+        };
+    }
+
+    /**
+     * Endpoint for a source: the {@code property} system property if set, else the {@code env}
+     * environment variable, else {@code defaultUrl}. Lets tests and load runs point fetchers at
+     * a local stub feed.
+     */
+    static String endpoint(String property, String env, String defaultUrl) {
+        String url = System.getProperty(property);
+        if (url == null || url.isBlank()) url = System.getenv(env);
+        return url == null || url.isBlank() ? defaultUrl : url;
+    }
+}
@@ -0,0 +1,109 @@
+package com.yourorg.livealerts.fetcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * Streams a USGS GeoJSON FeatureCollection (summary feeds and FDSN query results)
+ * and emits one {@link DisasterEvent} per feature as soon as it has been read.
+ */
+public class UsgsParser {
+    private final String sourceName;
+    private final String fallbackUrl;
+
+    public UsgsParser(String sourceName, String fallbackUrl) {
+        this.sourceName = sourceName;
+        this.fallbackUrl = fallbackUrl;
+    }
+
+    public void parse(InputStream in, Consumer<DisasterEvent> sink) throws IOException {
+        JsonReader r = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        r.beginObject();
+        while (r.hasNext()) {
+            if (r.nextName().equals("features") && r.peek() == JsonToken.BEGIN_ARRAY) {
+                r.beginArray();
+                while (r.hasNext()) sink.accept(readFeature(r));
+                r.endArray();
+            } else {
+                r.skipValue();
+            }
+        }
+        r.endObject();
+    }
+
+    private DisasterEvent readFeature(JsonReader r) throws IOException {
+        DisasterEvent d = new DisasterEvent();
+        d.setCategory("earthquake");
+        d.setSource(sourceName);
+        d.setUrl(fallbackUrl);
+        d.setDate("");
+        d.setMagnitude(0.0);
+        double[] point = new double[2];
+
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "id" -> d.setId(JsonStreams.nextStringOrNull(r));
+                case "properties" -> readProperties(r, d);
+                case "geometry" -> {
+                    if (r.peek() != JsonToken.BEGIN_OBJECT) {
+                        r.skipValue();
+                        break;
+                    }
+                    r.beginObject();
+                    while (r.hasNext()) {
+                        if (r.nextName().equals("coordinates") && JsonStreams.readFirstPoint(r, point)) {
+                            d.setLon(point[0]);
+                            d.setLat(point[1]);
+                        } else {
+                            r.skipValue();
+                        }
+                    }
+                    r.endObject();
+                }
+                default -> r.skipValue();
+            }
+        }
+        r.endObject();
+        return d;
+    }
+
+    private void readProperties(JsonReader r, DisasterEvent d) throws IOException {
+        if (r.peek() != JsonToken.BEGIN_OBJECT) {
+            r.skipValue();
+            return;
+        }
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "title" -> d.setTitle(JsonStreams.nextStringOrNull(r));
+                case "time" -> {
+                    if (r.peek() == JsonToken.NUMBER) {
+                        long time = r.nextLong();
+                        d.setDate(String.valueOf(time));
+                        d.setTime(time);
+                    } else {
+                        r.skipValue();
+                    }
+                }
+                case "url" -> {
+                    String url = JsonStreams.nextStringOrNull(r);
+                    if (url != null) d.setUrl(url);
+                }
+                case "mag" -> {
+                    Double mag = JsonStreams.nextDoubleOrNull(r);
+                    d.setMagnitude(mag != null ? mag : 0.0);
+                }
+                default -> r.skipValue();
+            }
+        }
+        r.endObject();
+    }
+}
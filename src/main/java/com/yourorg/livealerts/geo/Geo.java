@@ -0,0 +1,93 @@
+package com.yourorg.livealerts.geo;
+
+/** Great-circle distance and the fixed lat/lon grid shared by the spatial indexes. */
+public final class Geo {
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    /** Grid cell size in degrees. */
+    public static final double CELL_DEG = 1.0;
+    static final int COLS = (int) Math.round(360 / CELL_DEG);
+    static final int ROWS = (int) Math.round(180 / CELL_DEG);
+
+    private Geo() { }
+
+    /** Haversine distance in kilometres. */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    static int row(double lat) {
+        int r = (int) Math.floor((lat + 90) / CELL_DEG);
+        return Math.max(0, Math.min(ROWS - 1, r));
+    }
+
+    static int col(double lon) {
+        int c = (int) Math.floor((normalizeLon(lon) + 180) / CELL_DEG);
+        return Math.max(0, Math.min(COLS - 1, c));
+    }
+
+    /** Cell id of a point. */
+    public static int cell(double lat, double lon) {
+        return row(lat) * COLS + col(lon);
+    }
+
+    static int cell(int row, int col) {
+        return row * COLS + Math.floorMod(col, COLS);
+    }
+
+    static double normalizeLon(double lon) {
+        if (lon >= -180 && lon < 180) return lon;
+        return ((lon + 180) % 360 + 360) % 360 - 180;
+    }
+
+    /**
+     * Visits every cell that may contain points within {@code radiusKm} of (lat, lon).
+     * Cells are a superset; callers still check the exact distance.
+     */
+    public static void forCellsNear(double lat, double lon, double radiusKm, CellVisitor visitor) {
+        double dLat = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        int rowMin = row(lat - dLat);
+        int rowMax = row(lat + dLat);
+        double maxAbsLat = Math.min(90, Math.max(Math.abs(lat - dLat), Math.abs(lat + dLat)));
+        double cos = Math.cos(Math.toRadians(maxAbsLat));
+        double dLon = cos < 1e-9 ? 180 : Math.toDegrees(radiusKm / (EARTH_RADIUS_KM * cos));
+        if (dLon >= 180) {
+            for (int r = rowMin; r <= rowMax; r++) {
+                for (int c = 0; c < COLS; c++) visitor.visit(cell(r, c));
+            }
+            return;
+        }
+        forCellsInBox(lat - dLat, normalizeLon(lon - dLon), lat + dLat, normalizeLon(lon + dLon), visitor);
+    }
+
+    /**
+     * Visits the cells overlapping a box. {@code minLon > maxLon} means the box
+     * crosses the antimeridian.
+     */
+    public static void forCellsInBox(double minLat, double minLon, double maxLat, double maxLon, CellVisitor visitor) {
+        int rowMin = row(minLat);
+        int rowMax = row(maxLat);
+        int colMin = col(minLon);
+        int colMax = col(maxLon);
+        int width = colMax >= colMin ? colMax - colMin + 1 : COLS - colMin + colMax + 1;
+        for (int r = rowMin; r <= rowMax; r++) {
+            for (int i = 0; i < width; i++) visitor.visit(cell(r, colMin + i));
+        }
+    }
+
+    /** True if the point lies in the box; handles boxes crossing the antimeridian. */
+    public static boolean inBox(double lat, double lon, double minLat, double minLon, double maxLat, double maxLon) {
+        if (lat < minLat || lat > maxLat) return false;
+        double l = normalizeLon(lon);
+        return minLon <= maxLon ? l >= minLon && l <= maxLon : l >= minLon || l <= maxLon;
+    }
+
+    @FunctionalInterface
+    public interface CellVisitor {
+        void visit(int cell);
+    }
+}
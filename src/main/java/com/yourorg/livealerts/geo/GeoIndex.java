@@ -0,0 +1,140 @@
+package com.yourorg.livealerts.geo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.yourorg.livealerts.ingest.ChangeListener;
+import com.yourorg.livealerts.ingest.EventChange;
+import com.yourorg.livealerts.model.CompactEvent;
+import com.yourorg.livealerts.model.DisasterEvent;
+import com.yourorg.livealerts.model.EventColumns;
+
+/**
+ * In-memory grid index of event positions for bounding-box and radius queries, kept in sync
+ * with ingest through the change stream. Queries only touch the grid cells that overlap the
+ * search area, so their cost follows the number of nearby events rather than the table size.
+ * Each cell is a column store of {@link CompactEvent}s, so the index keeps its own small
+ * working set and distance scans read contiguous coordinate arrays.
+ */
+public class GeoIndex implements ChangeListener {
+
+    /** A query hit; {@code distanceKm} is NaN for bounding-box queries. */
+    public record Hit(CompactEvent event, double distanceKm) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, EventColumns> cells = new HashMap<>();
+    // source\0id -> cell and row currently holding the event
+    private final Map<String, Slot> cellByKey = new HashMap<>();
+
+    // where an event's row lives; the row changes when removal moves another row into a hole
+    private static final class Slot {
+        final int cell;
+        int row;
+
+        Slot(int cell, int row) {
+            this.cell = cell;
+            this.row = row;
+        }
+    }
+
+    public GeoIndex(Collection<DisasterEvent> initial) {
+        for (DisasterEvent e : initial) put(CompactEvent.from(e));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChanges(String source, List<EventChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (EventChange c : changes) {
+                if (c.isWrite()) put(CompactEvent.from(c.event()));
+                else if (c.type() == EventChange.Type.ARCHIVED) remove(c.source(), c.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Events within {@code radiusKm} of (lat, lon), nearest first, at most {@code limit}. */
+    public List<Hit> near(double lat, double lon, double radiusKm, int limit, EventFilter filter) {
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Geo.forCellsNear(lat, lon, radiusKm, cell -> {
+                EventColumns cols = cells.get(cell);
+                if (cols == null) return;
+                for (int i = 0, n = cols.size(); i < n; i++) {
+                    double d = Geo.distanceKm(lat, lon, cols.lat(i), cols.lon(i));
+                    if (d <= radiusKm && filter.test(cols.event(i))) hits.add(new Hit(cols.event(i), d));
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort((a, b) -> Double.compare(a.distanceKm(), b.distanceKm()));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /** Events inside the box; {@code minLon > maxLon} crosses the antimeridian. Unordered. */
+    public List<Hit> within(double minLat, double minLon, double maxLat, double maxLon, EventFilter filter) {
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Geo.forCellsInBox(minLat, minLon, maxLat, maxLon, cell -> {
+                EventColumns cols = cells.get(cell);
+                if (cols == null) return;
+                for (int i = 0, n = cols.size(); i < n; i++) {
+                    if (Geo.inBox(cols.lat(i), cols.lon(i), minLat, minLon, maxLat, maxLon) && filter.test(cols.event(i))) {
+                        hits.add(new Hit(cols.event(i), Double.NaN));
+                    }
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return hits;
+    }
+
+    // caller holds the write lock (or is the constructor)
+    private void put(CompactEvent event) {
+        remove(event.source(), event.id());
+        int cell = Geo.cell(event.lat(), event.lon());
+        int row = cells.computeIfAbsent(cell, k -> new EventColumns()).add(event);
+        cellByKey.put(key(event.source(), event.id()), new Slot(cell, row));
+    }
+
+    // caller holds the write lock; O(1), whatever the cell's size
+    private void remove(String source, String id) {
+        Slot slot = cellByKey.remove(key(source, id));
+        if (slot == null) return;
+        EventColumns cols = cells.get(slot.cell);
+        CompactEvent moved = cols.removeAt(slot.row);
+        if (moved != null) cellByKey.get(key(moved.source(), moved.id())).row = slot.row;
+        if (cols.size() == 0) cells.remove(slot.cell);
+    }
+
+    private static String key(String source, String id) {
+        return source + '\u0000' + id;
+    }
+
+    /** Extra per-event predicate applied while scanning cells. */
+    @FunctionalInterface
+    public interface EventFilter {
+        EventFilter ALL = e -> true;
+
+        boolean test(CompactEvent event);
+    }
+}
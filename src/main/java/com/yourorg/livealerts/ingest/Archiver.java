@@ -0,0 +1,95 @@
+package com.yourorg.livealerts.ingest;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.yourorg.livealerts.storage.Database;
+
+/**
+ * Retention: periodically moves events older than the configured age, and no longer carried by
+ * their feed, into the monthly archive tables. Work is done in small batches with a pause in
+ * between so ingest never waits long for the writer, and each batch is followed by an
+ * incremental vacuum step that hands the freed pages back to the file system.
+ */
+public class Archiver {
+    /** Events older than {@code maxAge} are archived, {@code batchSize} rows per transaction, every {@code interval}. */
+    public record Policy(Duration maxAge, int batchSize, Duration interval) {}
+
+    private static final long BATCH_PAUSE_MS = 200;
+    private static final int VACUUM_PAGES = 256;
+
+    private final Database db;
+    private final Ingestor ingestor;
+    private final Policy policy;
+    private volatile boolean running;
+    private Thread loop;
+
+    public Archiver(Database db, Ingestor ingestor, Policy policy) {
+        this.db = db;
+        this.ingestor = ingestor;
+        this.policy = policy;
+    }
+
+    public synchronized void start() {
+        if (loop != null) return;
+        running = true;
+        loop = Thread.ofVirtual().name("archiver").start(this::run);
+    }
+
+    public synchronized void shutdown() {
+        running = false;
+        if (loop != null) loop.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(policy.interval().toMillis());
+                runOnce();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException | RuntimeException ex) {
+                System.err.println("Archive pass failed: " + ex);
+            }
+        }
+    }
+
+    /** One retention pass; returns the number of events archived. */
+    public int runOnce() throws SQLException, InterruptedException {
+        long cutoff = System.currentTimeMillis() - policy.maxAge().toMillis();
+        Map<String, List<String>> bySource = new LinkedHashMap<>();
+        for (Database.EventKey k : db.listOlderThan(cutoff)) {
+            bySource.computeIfAbsent(k.source(), s -> new ArrayList<>()).add(k.id());
+        }
+        int archived = 0;
+        for (Map.Entry<String, List<String>> e : bySource.entrySet()) {
+            List<String> ids = e.getValue();
+            for (int from = 0; from < ids.size() && !Thread.currentThread().isInterrupted(); from += policy.batchSize()) {
+                List<String> batch = ids.subList(from, Math.min(ids.size(), from + policy.batchSize()));
+                int n = ingestor.archive(e.getKey(), batch);
+                if (n > 0) {
+                    archived += n;
+                    db.incrementalVacuum(VACUUM_PAGES);
+                    Thread.sleep(BATCH_PAUSE_MS);
+                }
+            }
+        }
+        // pages freed by earlier passes that the per-batch steps did not cover
+        int free = db.incrementalVacuum(VACUUM_PAGES);
+        while (free > 0 && !Thread.currentThread().isInterrupted()) {
+            Thread.sleep(BATCH_PAUSE_MS);
+            int left = db.incrementalVacuum(VACUUM_PAGES);
+            if (left >= free) break;
+            free = left;
+        }
+        if (archived > 0) {
+            System.out.println("Archived " + archived + " events older than " + policy.maxAge().toDays() + " days");
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,133 @@
+package com.yourorg.livealerts.ingest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * Keeps the content fingerprint of every stored event per (source, id) and classifies
+ * each fetched event as NEW, UPDATED or UNCHANGED. Events that were in the previous
+ * fetch of a source but not in the current one are reported as DISAPPEARED.
+ */
+public class ChangeDetector {
+    // source -> id -> fingerprint of the stored row
+    private final Map<String, Map<String, Long>> stored = new ConcurrentHashMap<>();
+    // source -> ids present in the last successful fetch
+    private final Map<String, Set<String>> lastSeen = new ConcurrentHashMap<>();
+    // source -> id -> fingerprint of everything seen so far in a streamed fetch in progress
+    private final Map<String, Map<String, Long>> streaming = new ConcurrentHashMap<>();
+
+    public ChangeDetector(Map<String, Map<String, Long>> initial) {
+        initial.forEach((source, ids) -> stored.put(source, new ConcurrentHashMap<>(ids)));
+    }
+
+    /** Classifies a full fetch of {@code source}. Does not change any state; see {@link #commit}. */
+    public List<EventChange> diff(String source, Collection<DisasterEvent> events) {
+        Map<String, Long> known = stored.getOrDefault(source, Map.of());
+        // a feed may repeat an id; the last copy wins
+        Map<String, DisasterEvent> byId = new LinkedHashMap<>();
+        for (DisasterEvent e : events) byId.put(e.getId(), e);
+
+        List<EventChange> out = new ArrayList<>(byId.size());
+        for (DisasterEvent e : byId.values()) {
+            Long previous = known.get(e.getId());
+            EventChange.Type type;
+            if (previous == null) type = EventChange.Type.NEW;
+            else if (previous != e.contentHash()) type = EventChange.Type.UPDATED;
+            else type = EventChange.Type.UNCHANGED;
+            out.add(new EventChange(type, e.getId(), source, e));
+        }
+        for (String id : lastSeen.getOrDefault(source, Set.of())) {
+            if (!byId.containsKey(id)) out.add(new EventChange(EventChange.Type.DISAPPEARED, id, source, null));
+        }
+        return out;
+    }
+
+    /** True once {@code source} has completed a fetch, so {@link #isLive} is meaningful for it. */
+    public boolean hasSeen(String source) {
+        return lastSeen.containsKey(source);
+    }
+
+    /** True if the event was in the last fetch of its source, or in the one streaming now. */
+    public boolean isLive(String source, String id) {
+        if (lastSeen.getOrDefault(source, Set.of()).contains(id)) return true;
+        Map<String, Long> current = streaming.get(source);
+        return current != null && current.containsKey(id);
+    }
+
+    /** Starts a streamed fetch of {@code source}; see {@link #classify} and {@link #endStream}. */
+    public void beginStream(String source) {
+        streaming.put(source, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Classifies one event of the streamed fetch and marks it live. Returns null when the feed
+     * repeats an id with identical content; a repeat with different content is classified
+     * again, so the last copy wins once written.
+     */
+    public EventChange classify(String source, DisasterEvent e) {
+        Map<String, Long> current = streaming.get(source);
+        long hash = e.contentHash();
+        Long repeat = current.put(e.getId(), hash);
+        if (repeat != null && repeat == hash) return null;
+        Long previous = stored.getOrDefault(source, Map.of()).get(e.getId());
+        EventChange.Type type;
+        if (previous == null) type = EventChange.Type.NEW;
+        else if (previous != hash) type = EventChange.Type.UPDATED;
+        else type = EventChange.Type.UNCHANGED;
+        return new EventChange(type, e.getId(), source, e);
+    }
+
+    /** Records fingerprints of a streamed batch once its writes are durable. */
+    public void commitBatch(String source, List<EventChange> changes) {
+        Map<String, Long> known = stored.computeIfAbsent(source, k -> new ConcurrentHashMap<>());
+        for (EventChange c : changes) {
+            if (c.isWrite()) known.put(c.id(), c.event().contentHash());
+        }
+    }
+
+    /**
+     * Completes a streamed fetch: the events seen become the source's live set and those of
+     * the previous fetch that did not reappear are returned as DISAPPEARED.
+     */
+    public List<EventChange> endStream(String source) {
+        Map<String, Long> current = streaming.get(source);
+        List<EventChange> out = new ArrayList<>();
+        for (String id : lastSeen.getOrDefault(source, Set.of())) {
+            if (!current.containsKey(id)) out.add(new EventChange(EventChange.Type.DISAPPEARED, id, source, null));
+        }
+        lastSeen.put(source, new HashSet<>(current.keySet()));
+        streaming.remove(source);
+        return out;
+    }
+
+    /** Abandons a streamed fetch (failed or not modified); the previous live set stays. */
+    public void abortStream(String source) {
+        streaming.remove(source);
+    }
+
+    /** Drops archived events; if a feed carries one again it is NEW. */
+    public void forget(String source, Collection<String> ids) {
+        Map<String, Long> known = stored.get(source);
+        if (known != null) known.keySet().removeAll(ids);
+    }
+
+    /** Records the outcome of a diff once its writes are durable. */
+    public void commit(String source, List<EventChange> changes) {
+        Map<String, Long> known = stored.computeIfAbsent(source, k -> new ConcurrentHashMap<>());
+        Set<String> seen = new HashSet<>();
+        for (EventChange c : changes) {
+            if (c.type() == EventChange.Type.DISAPPEARED) continue;
+            seen.add(c.id());
+            if (c.isWrite()) known.put(c.id(), c.event().contentHash());
+        }
+        lastSeen.put(source, seen);
+    }
+}
@@ -0,0 +1,12 @@
+package com.yourorg.livealerts.ingest;
+
+import java.util.List;
+
+/**
+ * Receives the change records of every ingest cycle after they were committed.
+ * Called on the ingesting thread, possibly concurrently for different sources,
+ * so implementations must be thread-safe and should return quickly.
+ */
+public interface ChangeListener {
+    void onChanges(String source, List<EventChange> changes);
+}
@@ -0,0 +1,25 @@
+package com.yourorg.livealerts.ingest;
+
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * One event's outcome in an ingest cycle. {@code event} is the freshly fetched
+ * copy, or null for {@link Type#DISAPPEARED} since the feed no longer carries it.
+ * {@link Type#ARCHIVED} (also with a null event) is emitted by retention when a row
+ * leaves the events table; in-memory views should drop it.
+ */
+public record EventChange(Type type, String id, String source, DisasterEvent event) {
+
+    public enum Type {
+        NEW,
+        UPDATED,
+        UNCHANGED,
+        DISAPPEARED,
+        ARCHIVED
+    }
+
+    /** True for changes that were written to the database. */
+    public boolean isWrite() {
+        return type == Type.NEW || type == Type.UPDATED;
+    }
+}
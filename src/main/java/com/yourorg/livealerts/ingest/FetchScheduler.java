@@ -0,0 +1,308 @@
+package com.yourorg.livealerts.ingest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.yourorg.livealerts.fetcher.Fetcher;
+import com.yourorg.livealerts.fetcher.StreamingFetcher;
+import com.yourorg.livealerts.metrics.Counter;
+import com.yourorg.livealerts.metrics.Histogram;
+import com.yourorg.livealerts.metrics.MetricsRegistry;
+
+/**
+ * Polls every registered {@link StreamingFetcher} on its own virtual thread with its own interval,
+ * jitter and timeout, so a slow source never delays another. A source never has two polls
+ * in flight: if a timed-out poll is still unwinding, the next one is skipped.
+ *
+ * <p>Each source's interval adapts to how often its feed changes: the scheduler keeps an
+ * exponentially weighted average of changes (new, updated, disappeared) per second and waits
+ * about as long as one change takes to arrive, within the schedule's bounds. A busy feed is
+ * polled at {@code minInterval}, a quiet one drifts to {@code maxInterval}. Failed polls back
+ * off exponentially; after {@link #FAILURES_TO_OPEN} failures in a row the source's circuit
+ * opens and it is left alone for {@link #OPEN_MS} before a single probe poll.
+ */
+public class FetchScheduler {
+
+    /** Consecutive failed polls after which a source's circuit opens. */
+    static final int FAILURES_TO_OPEN = 5;
+    /** How long an open circuit waits before the next (probe) poll. */
+    static final long OPEN_MS = Duration.ofMinutes(15).toMillis();
+    private static final long MAX_BACKOFF_MS = Duration.ofMinutes(10).toMillis();
+    // weight of the newest poll in the change-rate average
+    private static final double RATE_ALPHA = 0.3;
+
+    /**
+     * How often and how long a source may be polled. The interval starts at {@code interval} and
+     * adapts within {@code minInterval..maxInterval}; jitter is added randomly to each wait.
+     */
+    public record Schedule(Duration interval, Duration minInterval, Duration maxInterval,
+                           Duration jitter, Duration timeout) {
+        public Schedule {
+            if (minInterval.compareTo(interval) > 0 || interval.compareTo(maxInterval) > 0) {
+                throw new IllegalArgumentException("interval must lie within minInterval..maxInterval");
+            }
+        }
+
+        /** A fixed interval (only failures change it). */
+        public Schedule(Duration interval, Duration jitter, Duration timeout) {
+            this(interval, interval, interval, jitter, timeout);
+        }
+    }
+
+    /** Point-in-time counters for one source. */
+    public record SourceStatus(String source, long cycles, long failures, long skipped,
+                               long lastCycleMillis, long maxCycleMillis, Instant lastSuccess,
+                               long intervalMillis, int consecutiveFailures, boolean circuitOpen) {}
+
+    private final Ingestor ingestor;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    public FetchScheduler(Ingestor ingestor) {
+        this.ingestor = ingestor;
+    }
+
+    /** Schedules a list-based fetcher; its result is streamed through the same pipeline. */
+    public void schedule(Fetcher fetcher, Schedule schedule) {
+        schedule(StreamingFetcher.of(fetcher), schedule);
+    }
+
+    public void schedule(StreamingFetcher fetcher, Schedule schedule) {
+        Source src = new Source(fetcher, schedule);
+        if (sources.putIfAbsent(fetcher.sourceName(), src) != null) {
+            throw new IllegalArgumentException("Source already scheduled: " + fetcher.sourceName());
+        }
+        if (running) src.start();
+    }
+
+    /** Starts polling; every source runs its first poll immediately. */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        sources.values().forEach(Source::start);
+    }
+
+    public synchronized void shutdown() {
+        running = false;
+        sources.values().forEach(s -> { if (s.loop != null) s.loop.interrupt(); });
+        workers.shutdownNow();
+    }
+
+    public List<SourceStatus> status() {
+        List<SourceStatus> out = new ArrayList<>();
+        for (Source s : sources.values()) out.add(s.status());
+        return out;
+    }
+
+    private final class Source {
+        final StreamingFetcher fetcher;
+        final Schedule schedule;
+        final AtomicBoolean inFlight = new AtomicBoolean();
+        final AtomicLong cycles = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        volatile long lastCycleMillis;
+        volatile long maxCycleMillis;
+        volatile Instant lastSuccess;
+        volatile long intervalMillis;
+        volatile int consecutiveFailures;
+        volatile boolean circuitOpen;
+        // changes per second (EWMA), negative until measured; only touched by the loop thread
+        volatile double changeRate = -1;
+        long lastPollStart;
+        Thread loop;
+        final Histogram cycleTime;
+        final Histogram ingestTime;
+        // indexed by EventChange.Type ordinal
+        final Counter[] changeCounts = new Counter[EventChange.Type.values().length];
+
+        Source(StreamingFetcher fetcher, Schedule schedule) {
+            this.fetcher = fetcher;
+            this.schedule = schedule;
+            this.intervalMillis = schedule.interval().toMillis();
+            String name = fetcher.sourceName();
+            MetricsRegistry m = MetricsRegistry.shared();
+            cycleTime = m.histogram("livealerts_poll_duration_seconds", "Whole poll cycles, fetch through ingest",
+                    "source", name);
+            ingestTime = m.histogram("livealerts_ingest_duration_seconds",
+                    "Time a poll spent in database writes (the upsert phase)", "source", name);
+            for (EventChange.Type t : EventChange.Type.values()) {
+                changeCounts[t.ordinal()] = m.counter("livealerts_ingest_events_total",
+                        "Fetched events by change type", "source", name, "change", t.name().toLowerCase(Locale.ROOT));
+            }
+            m.counter("livealerts_poll_cycles_total", "Completed poll cycles", cycles::get, "source", name);
+            m.counter("livealerts_poll_failures_total", "Poll cycles that failed or timed out", failures::get, "source", name);
+            m.counter("livealerts_poll_skipped_total", "Polls skipped because the previous one was still running",
+                    skipped::get, "source", name);
+            m.gauge("livealerts_poll_last_success_timestamp_seconds", "Unix time of the last successful poll",
+                    () -> lastSuccess == null ? 0 : lastSuccess.toEpochMilli() / 1000.0, "source", name);
+            m.gauge("livealerts_poll_interval_seconds", "Current adaptive poll interval (before jitter and backoff)",
+                    () -> intervalMillis / 1000.0, "source", name);
+            m.gauge("livealerts_poll_change_rate", "Smoothed feed changes per second",
+                    () -> Math.max(0, changeRate), "source", name);
+            m.gauge("livealerts_poll_circuit_open", "1 while polling is suspended after repeated failures",
+                    () -> circuitOpen ? 1 : 0, "source", name);
+        }
+
+        void start() {
+            loop = Thread.ofVirtual().name("poll-" + fetcher.sourceName()).start(this::run);
+        }
+
+        SourceStatus status() {
+            return new SourceStatus(fetcher.sourceName(), cycles.get(), failures.get(), skipped.get(),
+                    lastCycleMillis, maxCycleMillis, lastSuccess, intervalMillis, consecutiveFailures, circuitOpen);
+        }
+
+        private void run() {
+            while (running) {
+                long wait = pollOnce();
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }
+
+        /** Runs one poll and returns how long to wait before the next. */
+        private long pollOnce() {
+            String name = fetcher.sourceName();
+            if (!inFlight.compareAndSet(false, true)) {
+                skipped.incrementAndGet();
+                System.err.println("Previous poll of " + name + " still running, skipping this cycle");
+                return withJitter(intervalMillis);
+            }
+            long start = System.nanoTime();
+            Future<IngestPipeline.Summary> cycle;
+            try {
+                cycle = workers.submit(() -> {
+                    try {
+                        return runCycle();
+                    } finally {
+                        inFlight.set(false);
+                    }
+                });
+            } catch (RuntimeException rejected) {
+                inFlight.set(false);
+                return 0;
+            }
+            IngestPipeline.Summary summary = null;
+            Throwable error = null;
+            try {
+                summary = cycle.get(schedule.timeout().toMillis(), TimeUnit.MILLISECONDS);
+                lastSuccess = Instant.now();
+            } catch (TimeoutException ex) {
+                cycle.cancel(true);
+                error = ex;
+            } catch (ExecutionException ex) {
+                error = ex.getCause();
+            } catch (InterruptedException ex) {
+                cycle.cancel(true);
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+            long nanos = System.nanoTime() - start;
+            long ms = nanos / 1_000_000;
+            cycleTime.observeNanos(nanos);
+            cycles.incrementAndGet();
+            lastCycleMillis = ms;
+            if (ms > maxCycleMillis) maxCycleMillis = ms;
+            if (error != null) {
+                failures.incrementAndGet();
+                return failed(error);
+            }
+            return succeeded(summary, start);
+        }
+
+        private long succeeded(IngestPipeline.Summary r, long start) {
+            if (consecutiveFailures > 0) {
+                System.out.println("Poll of " + fetcher.sourceName() + " recovered after "
+                        + consecutiveFailures + " failed attempt(s)");
+                consecutiveFailures = 0;
+                circuitOpen = false;
+            }
+            int changes = r.notModified() ? 0 : r.count(EventChange.Type.NEW) + r.count(EventChange.Type.UPDATED)
+                    + r.count(EventChange.Type.DISAPPEARED);
+            // the first poll only loads the baseline, its "changes" are the whole feed
+            if (lastPollStart != 0) {
+                double sample = changes / ((start - lastPollStart) / 1e9);
+                changeRate = changeRate < 0 ? sample : RATE_ALPHA * sample + (1 - RATE_ALPHA) * changeRate;
+                // wait about as long as one change takes to arrive
+                long target = changeRate > 0 ? (long) (1000 / changeRate) : Long.MAX_VALUE;
+                intervalMillis = Math.max(schedule.minInterval().toMillis(),
+                        Math.min(schedule.maxInterval().toMillis(), target));
+            }
+            lastPollStart = start;
+            return withJitter(intervalMillis);
+        }
+
+        private long failed(Throwable error) {
+            String name = fetcher.sourceName();
+            int n = ++consecutiveFailures;
+            String reason = error instanceof TimeoutException
+                    ? "timed out after " + schedule.timeout().toSeconds() + " s"
+                    : error.getClass().getSimpleName() + ": " + error.getMessage();
+            if (circuitOpen) {
+                System.err.println("Poll of " + name + " still failing (" + reason + "), next attempt in "
+                        + OPEN_MS / 60_000 + " min");
+                return OPEN_MS;
+            }
+            if (n >= FAILURES_TO_OPEN) {
+                circuitOpen = true;
+                System.err.println("Poll of " + name + " failed " + n + " times in a row (" + reason
+                        + "), pausing it for " + OPEN_MS / 60_000 + " min");
+                return OPEN_MS;
+            }
+            // anything but an I/O problem or a timeout is a bug: show where, once
+            if (n == 1 && !(error instanceof IOException) && !(error instanceof TimeoutException)) {
+                error.printStackTrace();
+            }
+            long backoff = Math.min(MAX_BACKOFF_MS, intervalMillis << n);
+            long wait = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+            System.err.println("Poll of " + name + " failed (" + reason + "), retry " + n + " in "
+                    + wait / 1000 + " s");
+            return wait;
+        }
+
+        private long withJitter(long millis) {
+            long jitter = schedule.jitter().toMillis();
+            return millis + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+        }
+
+        private IngestPipeline.Summary runCycle() throws Exception {
+            String name = fetcher.sourceName();
+            long start = System.nanoTime();
+            IngestPipeline.Summary r = ingestor.ingest(fetcher);
+            if (r.notModified()) {
+                System.out.println(name + " not modified since last poll ("
+                        + (System.nanoTime() - start) / 1_000_000 + " ms)");
+                return r;
+            }
+            ingestTime.observeNanos(r.writeNanos());
+            for (EventChange.Type t : EventChange.Type.values()) changeCounts[t.ordinal()].add(r.count(t));
+            System.out.println("Fetched " + r.fetched() + " from " + name
+                    + " (" + r.count(EventChange.Type.NEW) + " new, "
+                    + r.count(EventChange.Type.UPDATED) + " updated, "
+                    + r.count(EventChange.Type.UNCHANGED) + " unchanged, "
+                    + r.count(EventChange.Type.DISAPPEARED) + " disappeared, written in "
+                    + r.writeNanos() / 1_000_000 + " ms, cycle " + (System.nanoTime() - start) / 1_000_000 + " ms)");
+            return r;
+        }
+    }
+}
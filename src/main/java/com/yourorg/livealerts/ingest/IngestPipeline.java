@@ -0,0 +1,214 @@
+package com.yourorg.livealerts.ingest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.yourorg.livealerts.fetcher.StreamingFetcher;
+import com.yourorg.livealerts.model.DisasterEvent;
+import com.yourorg.livealerts.storage.Database;
+import com.yourorg.livealerts.storage.OutboxMessage;
+
+/**
+ * One streamed poll of a source, run as four stages on virtual threads connected by bounded
+ * queues:
+ *
+ * <ol>
+ *   <li>fetch + normalize: the fetcher parses the body and pushes each event (with its time
+ *       filled in) into the event queue, blocking when it is full;</li>
+ *   <li>dedupe: classifies events against the stored fingerprints, drops repeated ids and
+ *       cuts batches of at most {@code batchSize} writes;</li>
+ *   <li>write: writes each batch (with its outbox rows) in one transaction;</li>
+ *   <li>fan-out: hands written batches to the change listeners, at most about once a second
+ *       while the feed is still streaming (batches in between are merged).</li>
+ * </ol>
+ *
+ * Parsing, writing and listener work overlap, and at most a few batches are in flight, so
+ * memory follows the queue sizes rather than the feed size. Events that disappeared from the
+ * feed are only reported once the whole feed was read. If any stage fails, the others are
+ * interrupted and the batches already written stay written.
+ */
+public class IngestPipeline {
+    // end-of-stream markers, compared by identity
+    private static final DisasterEvent END = new DisasterEvent();
+    private static final List<EventChange> END_BATCH = new ArrayList<>(0);
+    private static final long FAN_OUT_INTERVAL_MS = 1000;
+
+    /** Outcome of one streamed poll. */
+    public record Summary(String source, boolean notModified, Map<EventChange.Type, Integer> counts, long writeNanos) {
+        public int count(EventChange.Type type) {
+            return counts.getOrDefault(type, 0);
+        }
+
+        public int fetched() {
+            return count(EventChange.Type.NEW) + count(EventChange.Type.UPDATED) + count(EventChange.Type.UNCHANGED);
+        }
+    }
+
+    private final Ingestor ingestor;
+    private final StreamingFetcher fetcher;
+    private final String source;
+    private final int batchSize;
+    private final BlockingQueue<DisasterEvent> events;
+    private final BlockingQueue<List<EventChange>> toWrite;
+    private final BlockingQueue<List<EventChange>> toNotify;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final List<Thread> stages = new ArrayList<>();
+    // written by one stage each, read after they have all been joined
+    private final Map<EventChange.Type, Integer> counts = new EnumMap<>(EventChange.Type.class);
+    private volatile boolean notModified;
+    private long writeNanos;
+
+    IngestPipeline(Ingestor ingestor, StreamingFetcher fetcher, int batchSize, int eventQueue, int batchQueue) {
+        this.ingestor = ingestor;
+        this.fetcher = fetcher;
+        this.source = fetcher.sourceName();
+        this.batchSize = batchSize;
+        this.events = new ArrayBlockingQueue<>(eventQueue);
+        this.toWrite = new ArrayBlockingQueue<>(batchQueue);
+        this.toNotify = new ArrayBlockingQueue<>(batchQueue);
+    }
+
+    Summary run() throws Exception {
+        ChangeDetector detector = ingestor.detector();
+        detector.beginStream(source);
+        stage("fetch", this::fetchStage);
+        stage("dedupe", this::dedupeStage);
+        stage("write", this::writeStage);
+        stage("fan-out", this::fanOutStage);
+        // all created before any runs, so a failing stage can interrupt every other one
+        for (Thread t : stages) t.start();
+        try {
+            for (Thread t : stages) t.join();
+        } catch (InterruptedException ex) {
+            // the poll was cancelled (e.g. timed out): stop every stage
+            cancel(ex);
+            for (Thread t : stages) t.join(5000);
+            Thread.currentThread().interrupt();
+        } finally {
+            // no-op if the write stage already completed the stream
+            if (failure.get() != null || notModified) detector.abortStream(source);
+        }
+        Throwable error = failure.get();
+        if (error instanceof Exception ex) throw ex;
+        if (error instanceof Error err) throw err;
+        return new Summary(source, notModified, counts, writeNanos);
+    }
+
+    private void stage(String name, Stage stage) {
+        stages.add(Thread.ofVirtual().name("ingest-" + source + "-" + name).unstarted(() -> {
+            try {
+                stage.run();
+            } catch (InterruptedException | CancellationException ex) {
+                // another stage failed (or the poll was cancelled) and stopped this one
+            } catch (Throwable t) {
+                cancel(t);
+            }
+        }));
+    }
+
+    private void cancel(Throwable cause) {
+        if (failure.compareAndSet(null, cause)) {
+            for (Thread t : stages) t.interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    private void fetchStage() throws Exception {
+        boolean modified = fetcher.fetch(e -> {
+            // fetchers normally set it; fill it in for any that only provide the date text
+            if (e.getTime() == 0) e.setTime(DisasterEvent.parseTime(e.getDate()));
+            try {
+                events.put(e);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("ingest of " + source + " cancelled");
+            }
+        });
+        notModified = !modified;
+        events.put(END);
+    }
+
+    private void dedupeStage() throws InterruptedException {
+        ChangeDetector detector = ingestor.detector();
+        List<EventChange> batch = new ArrayList<>();
+        int writes = 0;
+        for (DisasterEvent e = events.take(); e != END; e = events.take()) {
+            EventChange c = detector.classify(source, e);
+            if (c == null) continue;
+            counts.merge(c.type(), 1, Integer::sum);
+            batch.add(c);
+            if (c.isWrite()) writes++;
+            // unchanged events are cheap to pass on, but still bound the batch
+            if (writes >= batchSize || batch.size() >= batchSize * 4) {
+                toWrite.put(batch);
+                batch = new ArrayList<>();
+                writes = 0;
+            }
+        }
+        if (!batch.isEmpty()) toWrite.put(batch);
+        toWrite.put(END_BATCH);
+    }
+
+    private void writeStage() throws Exception {
+        ChangeDetector detector = ingestor.detector();
+        Database db = ingestor.db();
+        for (List<EventChange> batch = toWrite.take(); batch != END_BATCH; batch = toWrite.take()) {
+            List<DisasterEvent> dirty = new ArrayList<>();
+            for (EventChange c : batch) {
+                if (c.isWrite()) dirty.add(c.event());
+            }
+            if (!dirty.isEmpty()) {
+                synchronized (ingestor.lockFor(source)) {
+                    OutboxPlanner planner = ingestor.outboxPlanner();
+                    List<OutboxMessage> outbox = planner == null ? List.of() : planner.plan(source, batch);
+                    long start = System.nanoTime();
+                    db.upsertAll(dirty, outbox);
+                    writeNanos += System.nanoTime() - start;
+                    detector.commitBatch(source, batch);
+                }
+            }
+            toNotify.put(batch);
+        }
+        if (!notModified) {
+            List<EventChange> disappeared;
+            synchronized (ingestor.lockFor(source)) {
+                disappeared = detector.endStream(source);
+            }
+            if (!disappeared.isEmpty()) {
+                counts.put(EventChange.Type.DISAPPEARED, disappeared.size());
+                toNotify.put(disappeared);
+            }
+        }
+        toNotify.put(END_BATCH);
+    }
+
+    private void fanOutStage() throws InterruptedException {
+        long deadline = 0;
+        for (List<EventChange> batch = toNotify.take(); batch != END_BATCH; ) {
+            // Listeners such as the snapshot rebuild their whole view per call, so batches
+            // arriving within FAN_OUT_INTERVAL_MS of the previous call are merged into one.
+            List<EventChange> merged = new ArrayList<>(batch);
+            List<EventChange> next;
+            while (true) {
+                long wait = deadline - System.nanoTime();
+                next = wait > 0 ? toNotify.poll(wait, TimeUnit.NANOSECONDS) : toNotify.poll();
+                if (next == null || next == END_BATCH) break;
+                merged.addAll(next);
+            }
+            ingestor.notifyListeners(source, merged);
+            deadline = System.nanoTime() + FAN_OUT_INTERVAL_MS * 1_000_000;
+            batch = next != null ? next : toNotify.take();
+        }
+    }
+}
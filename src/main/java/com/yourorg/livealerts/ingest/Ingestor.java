@@ -0,0 +1,144 @@
+package com.yourorg.livealerts.ingest;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.yourorg.livealerts.fetcher.StreamingFetcher;
+import com.yourorg.livealerts.model.DisasterEvent;
+import com.yourorg.livealerts.storage.Database;
+import com.yourorg.livealerts.storage.OutboxMessage;
+
+/**
+ * Turns a fetched batch into change records, writes only the NEW/UPDATED events
+ * and hands the records to registered listeners. Streaming fetchers are run through an
+ * {@link IngestPipeline} instead, which does the same in bounded batches.
+ */
+public class Ingestor {
+    // streamed polls: writes per transaction, and queue sizes between pipeline stages
+    private static final int STREAM_BATCH = 500;
+    private static final int STREAM_EVENT_QUEUE = 1024;
+    private static final int STREAM_BATCH_QUEUE = 4;
+
+    private final Database db;
+    private final ChangeDetector detector;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile OutboxPlanner outboxPlanner;
+    // serializes ingest and archival of the same source
+    private final Map<String, Object> sourceLocks = new ConcurrentHashMap<>();
+
+    /** Outcome of one {@link #ingest} call. */
+    public record Result(String source, List<EventChange> changes, Database.UpsertResult written, long writeMillis) {
+        public int count(EventChange.Type type) {
+            int n = 0;
+            for (EventChange c : changes) if (c.type() == type) n++;
+            return n;
+        }
+    }
+
+    public Ingestor(Database db) throws SQLException {
+        this.db = db;
+        this.detector = new ChangeDetector(db.loadFingerprints());
+    }
+
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /** Sets the planner whose deliveries are written together with each cycle's events. */
+    public void setOutboxPlanner(OutboxPlanner planner) {
+        this.outboxPlanner = planner;
+    }
+
+    public Result ingest(String source, List<DisasterEvent> events) throws SQLException {
+        for (DisasterEvent e : events) {
+            // fetchers normally set it; fill it in for any that only provide the date text
+            if (e.getTime() == 0) e.setTime(DisasterEvent.parseTime(e.getDate()));
+        }
+        List<EventChange> changes;
+        Database.UpsertResult written;
+        long ms;
+        synchronized (lockFor(source)) {
+            changes = detector.diff(source, events);
+            List<DisasterEvent> dirty = new ArrayList<>();
+            for (EventChange c : changes) {
+                if (c.isWrite()) dirty.add(c.event());
+            }
+
+            OutboxPlanner planner = outboxPlanner;
+            List<OutboxMessage> outbox = planner == null || dirty.isEmpty() ? List.of() : planner.plan(source, changes);
+
+            long start = System.nanoTime();
+            written = db.upsertAll(dirty, outbox);
+            ms = (System.nanoTime() - start) / 1_000_000;
+            detector.commit(source, changes);
+        }
+        notifyListeners(source, changes);
+        return new Result(source, changes, written, ms);
+    }
+
+    /**
+     * Streams one poll of {@code fetcher} through the fetch, dedupe, write and fan-out stages.
+     * Listeners get the changes batch by batch, with DISAPPEARED last.
+     */
+    public IngestPipeline.Summary ingest(StreamingFetcher fetcher) throws Exception {
+        return new IngestPipeline(this, fetcher, STREAM_BATCH, STREAM_EVENT_QUEUE, STREAM_BATCH_QUEUE).run();
+    }
+
+    /**
+     * Moves events of {@code source} out of the live table. Events still present in the
+     * source's latest fetch are kept (they would come straight back as NEW), and nothing is
+     * archived until the source has been fetched once since startup. Listeners receive
+     * {@link EventChange.Type#ARCHIVED} only for rows actually moved. Returns the number moved.
+     */
+    public int archive(String source, Collection<String> ids) throws SQLException {
+        List<EventChange> changes = new ArrayList<>();
+        synchronized (lockFor(source)) {
+            if (!detector.hasSeen(source)) return 0;
+            List<Database.EventKey> keys = new ArrayList<>();
+            for (String id : ids) {
+                if (!detector.isLive(source, id)) keys.add(new Database.EventKey(source, id));
+            }
+            if (keys.isEmpty()) return 0;
+            List<Database.EventKey> moved = db.archive(keys);
+            List<String> archived = new ArrayList<>(moved.size());
+            for (Database.EventKey k : moved) {
+                archived.add(k.id());
+                changes.add(new EventChange(EventChange.Type.ARCHIVED, k.id(), source, null));
+            }
+            detector.forget(source, archived);
+        }
+        notifyListeners(source, changes);
+        return changes.size();
+    }
+
+    Object lockFor(String source) {
+        return sourceLocks.computeIfAbsent(source, k -> new Object());
+    }
+
+    ChangeDetector detector() {
+        return detector;
+    }
+
+    Database db() {
+        return db;
+    }
+
+    OutboxPlanner outboxPlanner() {
+        return outboxPlanner;
+    }
+
+    void notifyListeners(String source, List<EventChange> changes) {
+        for (ChangeListener l : listeners) {
+            try {
+                l.onChanges(source, changes);
+            } catch (RuntimeException ex) {
+                System.err.println("Change listener failed for " + source + ": " + ex);
+            }
+        }
+    }
+}
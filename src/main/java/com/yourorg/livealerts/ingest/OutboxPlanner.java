@@ -0,0 +1,13 @@
+package com.yourorg.livealerts.ingest;
+
+import java.util.List;
+
+import com.yourorg.livealerts.storage.OutboxMessage;
+
+/**
+ * Decides which deliveries an ingest cycle causes. Called before the cycle is written, so the
+ * returned messages are committed in the same transaction as the events. Must be thread-safe.
+ */
+public interface OutboxPlanner {
+    List<OutboxMessage> plan(String source, List<EventChange> changes);
+}
@@ -0,0 +1,22 @@
+package com.yourorg.livealerts.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Monotonic count. Recording is a {@link LongAdder} add: no lock, no allocation. */
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    Counter() { }
+
+    public void inc() {
+        value.increment();
+    }
+
+    public void add(long n) {
+        value.add(n);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
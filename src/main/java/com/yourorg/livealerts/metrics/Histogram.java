@@ -0,0 +1,62 @@
+package com.yourorg.livealerts.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency distribution over fixed buckets, recorded in nanoseconds and exposed in seconds.
+ * Recording scans a dozen bounds and bumps two {@link LongAdder}s: no lock, no allocation.
+ * A scrape may see a bucket and the sum from slightly different moments, which is fine for
+ * Prometheus.
+ */
+public final class Histogram {
+    /** Upper bounds in seconds: 1 ms to 30 s, suiting both requests and feed polls. */
+    static final double[] LATENCY_BOUNDS = {
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+    private final double[] bounds;
+    private final long[] boundNanos;
+    // one slot per bound plus +Inf; not cumulative until written out
+    private final LongAdder[] buckets;
+    private final LongAdder sumNanos = new LongAdder();
+
+    Histogram(double[] bounds) {
+        this.bounds = bounds.clone();
+        this.boundNanos = new long[bounds.length];
+        for (int i = 0; i < bounds.length; i++) boundNanos[i] = (long) (bounds[i] * 1e9);
+        this.buckets = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+    }
+
+    public void observeNanos(long nanos) {
+        int i = 0;
+        while (i < boundNanos.length && nanos > boundNanos[i]) i++;
+        buckets[i].increment();
+        sumNanos.add(nanos);
+    }
+
+    /** Records the time elapsed since {@code startNanos} (a {@link System#nanoTime()} reading). */
+    public void observeSince(long startNanos) {
+        observeNanos(System.nanoTime() - startNanos);
+    }
+
+    public long count() {
+        long n = 0;
+        for (LongAdder b : buckets) n += b.sum();
+        return n;
+    }
+
+    double[] bounds() {
+        return bounds;
+    }
+
+    /** Per-bucket counts, the last one being +Inf. */
+    long[] bucketCounts() {
+        long[] out = new long[buckets.length];
+        for (int i = 0; i < out.length; i++) out[i] = buckets[i].sum();
+        return out;
+    }
+
+    double sumSeconds() {
+        return sumNanos.sum() / 1e9;
+    }
+}
@@ -0,0 +1,134 @@
+package com.yourorg.livealerts.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Named counters, histograms and gauges, written out in the Prometheus text format.
+ * Components look their series up once (typically into a field) and record into them
+ * directly; only registration and scraping touch the maps here. Labels are given as
+ * alternating name/value pairs, and asking for an existing series returns it.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry SHARED = new MetricsRegistry();
+
+    private enum Type { COUNTER, GAUGE, HISTOGRAM }
+
+    private record Family(String name, String help, Type type, ConcurrentMap<String, Object> series) {}
+
+    private final ConcurrentMap<String, Family> families = new ConcurrentHashMap<>();
+
+    /** Process-wide registry served on {@code /metrics}. */
+    public static MetricsRegistry shared() {
+        return SHARED;
+    }
+
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) family(name, help, Type.COUNTER).series()
+                .computeIfAbsent(labelKey(labels), k -> new Counter());
+    }
+
+    /** A counter whose value is read from {@code value} at scrape time. */
+    public void counter(String name, String help, LongSupplier value, String... labels) {
+        family(name, help, Type.COUNTER).series().put(labelKey(labels), value);
+    }
+
+    public Histogram histogram(String name, String help, String... labels) {
+        return (Histogram) family(name, help, Type.HISTOGRAM).series()
+                .computeIfAbsent(labelKey(labels), k -> new Histogram(Histogram.LATENCY_BOUNDS));
+    }
+
+    /** A gauge read from {@code value} at scrape time; re-registering replaces the supplier. */
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        family(name, help, Type.GAUGE).series().put(labelKey(labels), value);
+    }
+
+    /** All metrics in the Prometheus text exposition format (version 0.0.4). */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(8192);
+        for (Family f : new TreeMap<>(families).values()) {
+            out.append("# HELP ").append(f.name()).append(' ').append(f.help()).append('\n');
+            out.append("# TYPE ").append(f.name()).append(' ').append(f.type().name().toLowerCase(Locale.ROOT)).append('\n');
+            for (Map.Entry<String, Object> s : new TreeMap<>(f.series()).entrySet()) {
+                write(out, f.name(), s.getKey(), s.getValue());
+            }
+        }
+        return out.toString();
+    }
+
+    private Family family(String name, String help, Type type) {
+        Family f = families.computeIfAbsent(name, n -> new Family(n, help, type, new ConcurrentHashMap<>()));
+        if (f.type() != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + f.type());
+        }
+        return f;
+    }
+
+    private static void write(StringBuilder out, String name, String labels, Object series) {
+        if (series instanceof Counter c) {
+            line(out, name, labels, c.get());
+        } else if (series instanceof LongSupplier s) {
+            line(out, name, labels, s.getAsLong());
+        } else if (series instanceof DoubleSupplier s) {
+            double v;
+            try {
+                v = s.getAsDouble();
+            } catch (RuntimeException ex) {
+                // a failing gauge must not break the whole scrape
+                v = Double.NaN;
+            }
+            line(out, name, labels, v);
+        } else if (series instanceof Histogram h) {
+            double[] bounds = h.bounds();
+            long[] counts = h.bucketCounts();
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                String le = i < bounds.length ? format(bounds[i]) : "+Inf";
+                line(out, name + "_bucket", withLabel(labels, "le", le), cumulative);
+            }
+            line(out, name + "_sum", labels, h.sumSeconds());
+            line(out, name + "_count", labels, cumulative);
+        }
+    }
+
+    private static void line(StringBuilder out, String name, String labels, long value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static void line(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(double v) {
+        if (Double.isNaN(v)) return "NaN";
+        if (v == (long) v) return Long.toString((long) v);
+        return Double.toString(v);
+    }
+
+    private static String withLabel(String labels, String name, String value) {
+        String pair = name + "=\"" + value + '"';
+        return labels.isEmpty() ? "{" + pair + "}" : labels.substring(0, labels.length() - 1) + "," + pair + "}";
+    }
+
+    // {a="1",b="2"} in the given order; empty when there are no labels
+    private static String labelKey(String... labels) {
+        if (labels.length == 0) return "";
+        if (labels.length % 2 != 0) throw new IllegalArgumentException("labels must be name/value pairs");
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) sb.append(',');
+            sb.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,86 @@
+package com.yourorg.livealerts.model;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * Immutable, low-footprint form of {@link DisasterEvent} for large in-memory working sets.
+ * Category and source are interned to {@code short} ids ({@link #CATEGORIES}, {@link #SOURCES}),
+ * the magnitude is a primitive with NaN for "none", and the source's date text is only kept
+ * when it cannot be rebuilt from {@code time}. {@link #from} / {@link #toEvent} convert
+ * losslessly, so API code keeps working with the bean.
+ */
+public record CompactEvent(String id, String title, short categoryId, short sourceId,
+                           double lat, double lon, String url, long time, double magnitude,
+                           byte dateForm, String dateText) {
+
+    /** Same order as the /events listing: newest first, ties by source then id, descending. */
+    public static final Comparator<CompactEvent> NEWEST_FIRST =
+            Comparator.comparingLong(CompactEvent::time)
+                    .thenComparing(CompactEvent::source, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(CompactEvent::id, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .reversed();
+
+    public static final Symbols CATEGORIES = new Symbols();
+    public static final Symbols SOURCES = new Symbols();
+
+    /** {@code dateText} holds the date verbatim. */
+    public static final byte DATE_TEXT = 0;
+    /** The date was {@code time} as epoch-millis digits (USGS). */
+    public static final byte DATE_EPOCH = 1;
+    /** The date was {@code time} as an ISO-8601 instant (EONET). */
+    public static final byte DATE_INSTANT = 2;
+
+    public static CompactEvent from(DisasterEvent e) {
+        String date = e.getDate();
+        long time = e.getTime();
+        byte form = DATE_TEXT;
+        String text = date;
+        if (date != null && time != 0) {
+            if (date.equals(Long.toString(time))) form = DATE_EPOCH;
+            else if (date.equals(Instant.ofEpochMilli(time).toString())) form = DATE_INSTANT;
+            if (form != DATE_TEXT) text = null;
+        }
+        return new CompactEvent(e.getId(), e.getTitle(),
+                CATEGORIES.idOf(e.getCategory()), SOURCES.idOf(e.getSource()),
+                e.getLat(), e.getLon(), e.getUrl(), time,
+                e.getMagnitude() != null ? e.getMagnitude() : Double.NaN,
+                form, text);
+    }
+
+    public DisasterEvent toEvent() {
+        DisasterEvent e = new DisasterEvent();
+        e.setId(id);
+        e.setTitle(title);
+        e.setCategory(category());
+        e.setSource(source());
+        e.setLat(lat);
+        e.setLon(lon);
+        e.setUrl(url);
+        e.setDate(date());
+        e.setTime(time);
+        e.setMagnitude(hasMagnitude() ? magnitude : null);
+        return e;
+    }
+
+    public String category() {
+        return CATEGORIES.nameOf(categoryId);
+    }
+
+    public String source() {
+        return SOURCES.nameOf(sourceId);
+    }
+
+    public boolean hasMagnitude() {
+        return !Double.isNaN(magnitude);
+    }
+
+    /** The date as the source published it. */
+    public String date() {
+        return switch (dateForm) {
+            case DATE_EPOCH -> Long.toString(time);
+            case DATE_INSTANT -> Instant.ofEpochMilli(time).toString();
+            default -> dateText;
+        };
+    }
+}
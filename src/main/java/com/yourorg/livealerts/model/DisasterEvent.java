@@ -1,5 +1,9 @@
 package com.yourorg.livealerts.model;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
 public class DisasterEvent {
     private String id;
     private String title;
@@ -8,7 +12,8 @@ public class DisasterEvent {
     private double longitude;
     private String source; // EONET, USGS, GDACS
     private String url; // source url
-    private String date; // ISO string or epoch string
+    private String date; // ISO string or epoch string, as published by the source
+    private long time; // date normalized to epoch millis (0 = unknown)
     private Double magnitude; // optional - for earthquakes
 
     public String getId() { return id; }
@@ -35,6 +40,62 @@ public class DisasterEvent {
     public String getDate() { return date; }
     public void setDate(String date) { this.date = date; }
 
+    public long getTime() { return time; }
+    public void setTime(long time) { this.time = time; }
+
     public Double getMagnitude() { return magnitude; }
     public void setMagnitude(Double magnitude) { this.magnitude = magnitude; }
+
+    /**
+     * Normalizes a source date to epoch millis: accepts epoch-millis digits (USGS),
+     * ISO-8601 instants or offset date-times (EONET) and plain dates. Returns 0 if unparseable.
+     */
+    public static long parseTime(String date) {
+        if (date == null || date.isBlank()) return 0;
+        String d = date.trim();
+        try {
+            if (d.chars().allMatch(Character::isDigit)) return Long.parseLong(d);
+            if (d.length() == 10) return LocalDate.parse(d).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            return OffsetDateTime.parse(d).toInstant().toEpochMilli();
+        } catch (RuntimeException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a hash over every field that is stored, used to detect whether a
+     * re-fetched event actually changed. Never returns 0 (reserved for "unknown").
+     */
+    public long contentHash() {
+        long h = 0xcbf29ce484222325L;
+        h = mix(h, id);
+        h = mix(h, title);
+        h = mix(h, category);
+        h = mix(h, Double.doubleToLongBits(latitude));
+        h = mix(h, Double.doubleToLongBits(longitude));
+        h = mix(h, source);
+        h = mix(h, url);
+        h = mix(h, date);
+        h = mix(h, Double.doubleToLongBits(magnitude != null ? magnitude : 0.0));
+        return h == 0 ? 1 : h;
+    }
+
+    private static long mix(long h, String s) {
+        if (s == null) return mix(h, 0x9e3779b97f4a7c15L);
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        // field separator so ("ab","c") and ("a","bc") differ
+        h ^= 0xff;
+        return h * 0x100000001b3L;
+    }
+
+    private static long mix(long h, long v) {
+        for (int i = 0; i < 8; i++) {
+            h ^= (v >>> (i * 8)) & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
 }
@@ -0,0 +1,87 @@
+package com.yourorg.livealerts.model;
+
+import java.util.Arrays;
+
+/**
+ * Growable column store of compact events: one primitive array per scanned field plus the
+ * event itself. Bulk scans (distance, time range, category) walk contiguous primitive arrays
+ * instead of chasing a pointer per event. Removal swaps the last row into the hole, so row
+ * order is not stable. Not thread-safe.
+ */
+public final class EventColumns {
+    private CompactEvent[] events;
+    private double[] lat;
+    private double[] lon;
+    private double[] magnitude;
+    private long[] time;
+    private short[] category;
+    private short[] source;
+    private int size;
+
+    public EventColumns() {
+        this(8);
+    }
+
+    public EventColumns(int capacity) {
+        capacity = Math.max(1, capacity);
+        events = new CompactEvent[capacity];
+        lat = new double[capacity];
+        lon = new double[capacity];
+        magnitude = new double[capacity];
+        time = new long[capacity];
+        category = new short[capacity];
+        source = new short[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Appends a row and returns its index. */
+    public int add(CompactEvent e) {
+        if (size == events.length) grow();
+        set(size, e);
+        return size++;
+    }
+
+    public void set(int i, CompactEvent e) {
+        events[i] = e;
+        lat[i] = e.lat();
+        lon[i] = e.lon();
+        magnitude[i] = e.magnitude();
+        time[i] = e.time();
+        category[i] = e.categoryId();
+        source[i] = e.sourceId();
+    }
+
+    /**
+     * Removes row {@code i} by moving the last row into it. Returns the moved event (now at
+     * {@code i}), or null if {@code i} was the last row.
+     */
+    public CompactEvent removeAt(int i) {
+        int last = --size;
+        CompactEvent moved = i != last ? events[last] : null;
+        if (moved != null) set(i, moved);
+        events[last] = null;
+        return moved;
+    }
+
+    public CompactEvent event(int i) { return events[i]; }
+    public double lat(int i) { return lat[i]; }
+    public double lon(int i) { return lon[i]; }
+    public double magnitude(int i) { return magnitude[i]; }
+    public long time(int i) { return time[i]; }
+    public short categoryId(int i) { return category[i]; }
+    public short sourceId(int i) { return source[i]; }
+
+    private void grow() {
+        int n = events.length * 2;
+        events = Arrays.copyOf(events, n);
+        lat = Arrays.copyOf(lat, n);
+        lon = Arrays.copyOf(lon, n);
+        magnitude = Arrays.copyOf(magnitude, n);
+        time = Arrays.copyOf(time, n);
+        category = Arrays.copyOf(category, n);
+        source = Arrays.copyOf(source, n);
+    }
+}
@@ -0,0 +1,52 @@
+package com.yourorg.livealerts.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe, append-only table that maps a small vocabulary of strings (categories,
+ * sources) to dense {@code short} ids, so compact events store two bytes instead of a
+ * String reference per field. Id 0 is reserved for null.
+ */
+public final class Symbols {
+    public static final short NONE = 0;
+
+    private final Map<String, Short> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = {null};
+
+    /** The id of {@code name}, assigning the next one on first use. */
+    public short idOf(String name) {
+        if (name == null) return NONE;
+        Short id = ids.get(name);
+        return id != null ? id : assign(name);
+    }
+
+    /** The id of {@code name} if it was ever seen, else -1. Does not assign. */
+    public short find(String name) {
+        if (name == null) return NONE;
+        Short id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    public String nameOf(short id) {
+        return names[id];
+    }
+
+    public int size() {
+        return names.length - 1;
+    }
+
+    private synchronized short assign(String name) {
+        Short id = ids.get(name);
+        if (id != null) return id;
+        String[] current = names;
+        if (current.length > Short.MAX_VALUE) throw new IllegalStateException("too many distinct symbols");
+        String[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = name;
+        // publish the name before the id so readers that see the id can resolve it
+        names = next;
+        ids.put(name, (short) current.length);
+        return (short) current.length;
+    }
+}
@@ -0,0 +1,109 @@
+package com.yourorg.livealerts.rules;
+
+import java.util.List;
+
+import com.yourorg.livealerts.geo.Geo;
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * A subscription: events matching every condition that is set are emailed to {@code recipients}.
+ * Null conditions match anything. The optional geofence is either a circle
+ * ({@code lat}, {@code lon}, {@code radiusKm}) or a polygon of {@code [lon, lat]} points.
+ */
+public record AlertRule(Long id, String name, String category, String source, Double minMagnitude,
+                        Double lat, Double lon, Double radiusKm, double[][] polygon, List<String> recipients) {
+
+    public AlertRule {
+        // a blank condition is no condition; kept as "" it would match only events without one
+        if (category != null && category.isBlank()) category = null;
+        if (source != null && source.isBlank()) source = null;
+    }
+
+    public AlertRule withId(long newId) {
+        return new AlertRule(newId, name, category, source, minMagnitude, lat, lon, radiusKm, polygon, recipients);
+    }
+
+    public boolean isCircle() {
+        return radiusKm != null;
+    }
+
+    public boolean isPolygon() {
+        return polygon != null;
+    }
+
+    /**
+     * Checks that the rule is complete and consistent.
+     *
+     * @throws IllegalArgumentException describing the first problem found
+     */
+    public void validate() {
+        if (recipients == null || recipients.isEmpty()) {
+            throw new IllegalArgumentException("recipients must not be empty");
+        }
+        for (String r : recipients) {
+            if (r == null || !r.contains("@")) throw new IllegalArgumentException("invalid recipient: " + r);
+        }
+        if (isCircle() && isPolygon()) {
+            throw new IllegalArgumentException("use either radiusKm or polygon, not both");
+        }
+        if (isCircle()) {
+            if (lat == null || lon == null) throw new IllegalArgumentException("lat and lon are required with radiusKm");
+            checkLatLon(lat, lon);
+            if (!(radiusKm > 0) || radiusKm > 20_000) throw new IllegalArgumentException("radiusKm must be in (0, 20000]");
+        } else if (lat != null || lon != null) {
+            throw new IllegalArgumentException("lat and lon need radiusKm");
+        }
+        if (isPolygon()) {
+            if (polygon.length < 3) throw new IllegalArgumentException("polygon needs at least 3 points");
+            for (double[] p : polygon) {
+                if (p == null || p.length != 2) throw new IllegalArgumentException("polygon points are [lon, lat]");
+                checkLatLon(p[1], p[0]);
+            }
+        }
+    }
+
+    /** Full check of an event against every condition of this rule. */
+    public boolean matches(DisasterEvent e) {
+        if (category != null && !category.equals(e.getCategory())) return false;
+        if (source != null && !source.equals(e.getSource())) return false;
+        if (minMagnitude != null && (e.getMagnitude() == null || e.getMagnitude() < minMagnitude)) return false;
+        if (isCircle()) return Geo.distanceKm(lat, lon, e.getLat(), e.getLon()) <= radiusKm;
+        if (isPolygon()) return polygonContains(e.getLat(), e.getLon());
+        return true;
+    }
+
+    /** Visits the grid cells the geofence may cover; does nothing for rules without one. */
+    void forEachCell(Geo.CellVisitor visitor) {
+        if (isCircle()) {
+            Geo.forCellsNear(lat, lon, radiusKm, visitor);
+        } else if (isPolygon()) {
+            double minLat = 90, maxLat = -90, minLon = 180, maxLon = -180;
+            for (double[] p : polygon) {
+                minLon = Math.min(minLon, p[0]);
+                maxLon = Math.max(maxLon, p[0]);
+                minLat = Math.min(minLat, p[1]);
+                maxLat = Math.max(maxLat, p[1]);
+            }
+            Geo.forCellsInBox(minLat, minLon, maxLat, maxLon, visitor);
+        }
+    }
+
+    // even-odd ray casting in plain lon/lat (fine for fences that do not cross the antimeridian)
+    private boolean polygonContains(double pLat, double pLon) {
+        boolean inside = false;
+        for (int i = 0, j = polygon.length - 1; i < polygon.length; j = i++) {
+            double xi = polygon[i][0], yi = polygon[i][1];
+            double xj = polygon[j][0], yj = polygon[j][1];
+            if ((yi > pLat) != (yj > pLat) && pLon < (xj - xi) * (pLat - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static void checkLatLon(double lat, double lon) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new IllegalArgumentException("coordinates out of range");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.yourorg.livealerts.rules;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.yourorg.livealerts.ingest.EventChange;
+import com.yourorg.livealerts.ingest.OutboxPlanner;
+import com.yourorg.livealerts.model.DisasterEvent;
+import com.yourorg.livealerts.storage.Database;
+import com.yourorg.livealerts.storage.OutboxMessage;
+
+/**
+ * Matches every new or updated event from ingest against the stored alert rules and plans one
+ * outbox email per event to the union of the matching rules' recipients. Rules live in the
+ * database; the in-memory {@link RuleIndex} is rebuilt whenever they change.
+ */
+public class RuleEngine implements OutboxPlanner {
+    private final Database db;
+    private volatile RuleIndex index = RuleIndex.EMPTY;
+    private volatile List<AlertRule> rules = List.of();
+
+    public RuleEngine(Database db) throws SQLException {
+        this.db = db;
+        reload();
+    }
+
+    public List<AlertRule> list() {
+        return rules;
+    }
+
+    /**
+     * Validates and stores a rule; it applies from the next ingest cycle.
+     *
+     * @throws IllegalArgumentException if the rule is invalid
+     */
+    public synchronized AlertRule add(AlertRule rule) throws SQLException {
+        rule.validate();
+        AlertRule saved = db.insertRule(rule);
+        List<AlertRule> next = new ArrayList<>(rules);
+        next.add(saved);
+        publish(next);
+        return saved;
+    }
+
+    public synchronized boolean remove(long id) throws SQLException {
+        boolean removed = db.deleteRule(id);
+        if (removed) {
+            List<AlertRule> next = new ArrayList<>(rules);
+            next.removeIf(r -> r.id() == id);
+            publish(next);
+        }
+        return removed;
+    }
+
+    /** Rules matching an event. */
+    public List<AlertRule> match(DisasterEvent event) {
+        return index.match(event);
+    }
+
+    private void reload() throws SQLException {
+        publish(db.listRules());
+    }
+
+    private void publish(List<AlertRule> next) {
+        index = new RuleIndex(next);
+        rules = List.copyOf(next);
+    }
+
+    @Override
+    public List<OutboxMessage> plan(String source, List<EventChange> changes) {
+        RuleIndex current = index;
+        if (current.size() == 0) return List.of();
+        List<OutboxMessage> out = new ArrayList<>();
+        for (EventChange c : changes) {
+            if (!c.isWrite()) continue;
+            List<AlertRule> matched = current.match(c.event());
+            if (matched.isEmpty()) continue;
+            Set<String> recipients = new LinkedHashSet<>();
+            for (AlertRule r : matched) recipients.addAll(r.recipients());
+            out.add(OutboxMessage.email(c.event(), new ArrayList<>(recipients)));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,75 @@
+package com.yourorg.livealerts.rules;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.yourorg.livealerts.geo.Geo;
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * Immutable lookup structure over a rule set. Rules are bucketed by category (rules without one
+ * go under a wildcard key) and, within a bucket, by the grid cells their geofence covers; rules
+ * without a geofence sit in a per-bucket "anywhere" list. Matching an event only touches the
+ * rules of its own category plus the wildcard, in its own cell, so cost follows the number of
+ * candidate rules rather than the rule count. Fences covering more than {@link #MAX_FENCE_CELLS}
+ * cells go to the "anywhere" list too, rather than into every cell they touch.
+ */
+final class RuleIndex {
+    static final RuleIndex EMPTY = new RuleIndex(List.of());
+
+    private static final String ANY_CATEGORY = "";
+    // about 32° x 32°; a fence this large matches a good share of all events anyway
+    static final int MAX_FENCE_CELLS = 1024;
+
+    private static final class Bucket {
+        final List<AlertRule> anywhere = new ArrayList<>();
+        final Map<Integer, List<AlertRule>> cells = new HashMap<>();
+    }
+
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final int size;
+
+    RuleIndex(Collection<AlertRule> rules) {
+        for (AlertRule rule : rules) {
+            Bucket b = buckets.computeIfAbsent(rule.category() == null ? ANY_CATEGORY : rule.category(),
+                    k -> new Bucket());
+            List<Integer> cells = new ArrayList<>();
+            rule.forEachCell(cells::add);
+            if (cells.isEmpty() || cells.size() > MAX_FENCE_CELLS) {
+                b.anywhere.add(rule);
+            } else {
+                for (int cell : cells) b.cells.computeIfAbsent(cell, k -> new ArrayList<>()).add(rule);
+            }
+        }
+        this.size = rules.size();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Rules that fully match the event. */
+    List<AlertRule> match(DisasterEvent e) {
+        List<AlertRule> out = new ArrayList<>(0);
+        int cell = Geo.cell(e.getLat(), e.getLon());
+        if (e.getCategory() != null) collect(buckets.get(e.getCategory()), e, cell, out);
+        collect(buckets.get(ANY_CATEGORY), e, cell, out);
+        return out;
+    }
+
+    private static void collect(Bucket b, DisasterEvent e, int cell, List<AlertRule> out) {
+        if (b == null) return;
+        for (AlertRule r : b.anywhere) {
+            if (r.matches(e)) out.add(r);
+        }
+        List<AlertRule> inCell = b.cells.get(cell);
+        if (inCell != null) {
+            for (AlertRule r : inCell) {
+                if (r.matches(e)) out.add(r);
+            }
+        }
+    }
+}
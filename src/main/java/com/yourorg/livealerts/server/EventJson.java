@@ -0,0 +1,74 @@
+package com.yourorg.livealerts.server;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.gson.stream.JsonWriter;
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * Writes events as JSON using the same field names as Gson's default mapping,
+ * optionally limited to a projection of fields.
+ */
+final class EventJson {
+    static final Set<String> FIELDS = Set.of(
+            "id", "title", "category", "latitude", "longitude", "source", "url", "date", "time", "magnitude");
+
+    private EventJson() { }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter. Returns null for "all fields".
+     *
+     * @throws IllegalArgumentException on unknown field names
+     */
+    static Set<String> parseFields(String param) {
+        if (param == null || param.isBlank()) return null;
+        Set<String> out = new LinkedHashSet<>();
+        for (String f : param.split(",")) {
+            String name = f.trim();
+            if (name.isEmpty()) continue;
+            if (!FIELDS.contains(name)) throw new IllegalArgumentException("Unknown field: " + name);
+            out.add(name);
+        }
+        return out.isEmpty() ? null : out;
+    }
+
+    static String write(List<DisasterEvent> events, Set<String> fields) throws IOException {
+        return write(events, null, fields);
+    }
+
+    /** As {@link #write(List, Set)}, adding {@code distanceKm} from the parallel array when given. */
+    static String write(List<DisasterEvent> events, double[] distancesKm, Set<String> fields) throws IOException {
+        StringWriter sw = new StringWriter(events.size() * 256);
+        try (JsonWriter w = new JsonWriter(sw)) {
+            // like Gson's default: null fields are left out
+            w.setSerializeNulls(false);
+            w.beginArray();
+            for (int i = 0; i < events.size(); i++) {
+                DisasterEvent e = events.get(i);
+                w.beginObject();
+                if (want(fields, "id")) w.name("id").value(e.getId());
+                if (want(fields, "title")) w.name("title").value(e.getTitle());
+                if (want(fields, "category")) w.name("category").value(e.getCategory());
+                if (want(fields, "latitude")) w.name("latitude").value(e.getLat());
+                if (want(fields, "longitude")) w.name("longitude").value(e.getLon());
+                if (want(fields, "source")) w.name("source").value(e.getSource());
+                if (want(fields, "url")) w.name("url").value(e.getUrl());
+                if (want(fields, "date")) w.name("date").value(e.getDate());
+                if (want(fields, "time")) w.name("time").value(e.getTime());
+                if (want(fields, "magnitude")) w.name("magnitude").value(e.getMagnitude());
+                if (distancesKm != null) w.name("distanceKm").value(Math.round(distancesKm[i] * 1000) / 1000.0);
+                w.endObject();
+            }
+            w.endArray();
+        }
+        return sw.toString();
+    }
+
+    private static boolean want(Set<String> fields, String name) {
+        return fields == null || fields.contains(name);
+    }
+}
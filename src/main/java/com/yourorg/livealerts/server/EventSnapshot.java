@@ -0,0 +1,111 @@
+package com.yourorg.livealerts.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.gson.Gson;
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * Immutable, versioned view of every stored event in {@code /events} order, together with
+ * ready-to-send JSON bodies. Bodies are keyed by (category, source) filter and built at most
+ * once per snapshot; the unfiltered and single-filter bodies are built up front. Only filter
+ * values that occur in the snapshot are cached, so arbitrary query strings cannot grow it.
+ */
+public final class EventSnapshot {
+    private static final Gson GSON = new Gson();
+
+    /** A serialized response: plain and gzipped JSON plus a strong ETag derived from the content. */
+    public record Body(byte[] json, byte[] gzip, String etag) {}
+
+    private static final Body EMPTY = body("[]".getBytes(StandardCharsets.UTF_8));
+
+    private final long version;
+    private final List<DisasterEvent> events;
+    private final Set<String> categories = new HashSet<>();
+    private final Set<String> sources = new HashSet<>();
+    private final Map<String, Body> bodies = new ConcurrentHashMap<>();
+
+    public EventSnapshot(long version, List<DisasterEvent> events) {
+        this.version = version;
+        this.events = Collections.unmodifiableList(events);
+        for (DisasterEvent e : events) {
+            if (e.getCategory() != null) categories.add(e.getCategory());
+            if (e.getSource() != null) sources.add(e.getSource());
+        }
+    }
+
+    public long version() { return version; }
+
+    /** Events ordered like {@code /events}; must not be mutated. */
+    public List<DisasterEvent> events() { return events; }
+
+    /** Serialized response for the given filter; null or empty means "any". */
+    public Body body(String category, String source) {
+        String c = category == null ? "" : category;
+        String s = source == null ? "" : source;
+        // a value no event has matches nothing
+        if (!c.isEmpty() && !categories.contains(c) || !s.isEmpty() && !sources.contains(s)) return EMPTY;
+        return bodies.computeIfAbsent(c + '\u0000' + s, k -> serialize(c, s));
+    }
+
+    // Builds the bodies that nearly every dashboard poll asks for
+    void warm() {
+        body(null, null);
+        for (DisasterEvent e : events) {
+            body(e.getCategory(), null);
+            body(null, e.getSource());
+        }
+    }
+
+    private Body serialize(String category, String source) {
+        List<DisasterEvent> selected;
+        if (category.isEmpty() && source.isEmpty()) {
+            selected = events;
+        } else {
+            selected = new ArrayList<>();
+            for (DisasterEvent e : events) {
+                if (!category.isEmpty() && !category.equals(e.getCategory())) continue;
+                if (!source.isEmpty() && !source.equals(e.getSource())) continue;
+                selected.add(e);
+            }
+        }
+        return body(GSON.toJson(selected).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Body body(byte[] json) {
+        return new Body(json, gzip(json), etag(json));
+    }
+
+    static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    static String etag(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return '"' + HexFormat.of().formatHex(digest, 0, 12) + '"';
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
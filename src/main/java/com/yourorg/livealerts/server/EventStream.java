@@ -0,0 +1,216 @@
+package com.yourorg.livealerts.server;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.google.gson.Gson;
+import com.yourorg.livealerts.ingest.ChangeListener;
+import com.yourorg.livealerts.ingest.EventChange;
+
+/**
+ * Server-Sent Events fan-out of NEW/UPDATED events for {@code /events/stream}.
+ *
+ * Each connection is an async servlet request with a bounded frame queue drained by its own
+ * virtual thread, so idle clients hold no container thread. A client whose queue fills up is
+ * disconnected instead of buffered; it can reconnect with Last-Event-ID and resume from the
+ * replay buffer, or receive a {@code reset} event telling it to reload the full list. Event ids
+ * are {@code <process start millis>-<seq>}, so an id from before a restart is never mistaken
+ * for one of this process.
+ */
+public class EventStream implements ChangeListener {
+    private static final int CLIENT_QUEUE = 256;
+    private static final int REPLAY_SIZE = 2048;
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final byte[] HEARTBEAT = ": hb\n\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RESET = "event: reset\ndata: {}\n\n".getBytes(StandardCharsets.US_ASCII);
+    // sent once per connection: how long the browser waits before reconnecting
+    private static final byte[] RETRY = "retry: 5000\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private record Frame(long seq, byte[] bytes) {}
+
+    private final Gson gson = new Gson();
+    private final String epoch = Long.toString(System.currentTimeMillis());
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "sse-heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+    // guarded by this
+    private final ArrayDeque<Frame> replay = new ArrayDeque<>(REPLAY_SIZE);
+    private long seq;
+
+    public EventStream() {
+        heartbeat.scheduleAtFixedRate(() -> {
+            for (Client c : clients) c.offer(HEARTBEAT);
+        }, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public int clientCount() {
+        return clients.size();
+    }
+
+    @Override
+    public void onChanges(String source, List<EventChange> changes) {
+        List<byte[]> encoded = new ArrayList<>();
+        for (EventChange c : changes) {
+            String data;
+            String type;
+            if (c.isWrite()) {
+                type = c.type() == EventChange.Type.NEW ? "new" : "updated";
+                data = gson.toJson(c.event());
+            } else if (c.type() == EventChange.Type.ARCHIVED) {
+                type = "archived";
+                data = gson.toJson(Map.of("id", c.id(), "source", c.source()));
+            } else {
+                continue;
+            }
+            encoded.add(("event: " + type + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        }
+        if (encoded.isEmpty()) return;
+        synchronized (this) {
+            for (byte[] body : encoded) {
+                long id = ++seq;
+                byte[] idLine = ("id: " + epoch + "-" + id + "\n").getBytes(StandardCharsets.US_ASCII);
+                byte[] bytes = new byte[idLine.length + body.length];
+                System.arraycopy(idLine, 0, bytes, 0, idLine.length);
+                System.arraycopy(body, 0, bytes, idLine.length, body.length);
+                if (replay.size() == REPLAY_SIZE) replay.removeFirst();
+                replay.addLast(new Frame(id, bytes));
+                for (Client client : clients) client.offer(bytes);
+            }
+        }
+    }
+
+    /** Takes over the request as a long-lived SSE connection. Returns immediately. */
+    public void open(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(200);
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext ctx = request.startAsync();
+        ctx.setTimeout(0);
+        Client client = new Client(ctx, response.getOutputStream());
+        ctx.addListener(client);
+        client.offer(RETRY);
+
+        String lastId = request.getHeader("Last-Event-ID");
+        if (lastId == null) lastId = request.getParameter("lastEventId");
+        synchronized (this) {
+            if (lastId != null) replayAfter(lastId, client);
+            clients.add(client);
+        }
+        response.flushBuffer();
+        Thread.ofVirtual().name("sse-client").start(client::drain);
+    }
+
+    // guarded by this
+    private void replayAfter(String lastId, Client client) {
+        String id = lastId.trim();
+        int dash = id.indexOf('-');
+        // ids from another process (or without an epoch) cannot be resumed
+        if (dash < 0 || !id.substring(0, dash).equals(epoch)) {
+            client.offer(RESET);
+            return;
+        }
+        long last;
+        try {
+            last = Long.parseLong(id.substring(dash + 1));
+        } catch (NumberFormatException ex) {
+            client.offer(RESET);
+            return;
+        }
+        long oldest = replay.isEmpty() ? seq + 1 : replay.peekFirst().seq();
+        // ids older than the buffer cannot be resumed either
+        if (last > seq || last < oldest - 1) {
+            client.offer(RESET);
+            return;
+        }
+        int pending = 0;
+        for (Frame f : replay) {
+            if (f.seq() > last) pending++;
+        }
+        if (pending > CLIENT_QUEUE - 8) {
+            client.offer(RESET);
+            return;
+        }
+        for (Frame f : replay) {
+            if (f.seq() > last) client.offer(f.bytes());
+        }
+    }
+
+    private final class Client implements AsyncListener {
+        private final AsyncContext ctx;
+        private final ServletOutputStream out;
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(CLIENT_QUEUE);
+        private volatile boolean closed;
+        private volatile Thread writer;
+
+        Client(AsyncContext ctx, ServletOutputStream out) {
+            this.ctx = ctx;
+            this.out = out;
+        }
+
+        void offer(byte[] frame) {
+            if (closed) return;
+            // a consumer this far behind is dropped rather than buffered without bound
+            if (!queue.offer(frame)) close();
+        }
+
+        void drain() {
+            writer = Thread.currentThread();
+            List<byte[]> batch = new ArrayList<>();
+            try {
+                while (!closed) {
+                    batch.add(queue.take());
+                    queue.drainTo(batch);
+                    for (byte[] frame : batch) out.write(frame);
+                    out.flush();
+                    batch.clear();
+                }
+            } catch (IOException | InterruptedException | IllegalStateException ex) {
+                // client went away or we were closed
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            clients.remove(this);
+            Thread w = writer;
+            if (w != null && w != Thread.currentThread()) w.interrupt();
+            try {
+                ctx.complete();
+            } catch (IllegalStateException ignored) {
+                // already completed by the container
+            }
+        }
+
+        @Override public void onComplete(AsyncEvent event) { closed = true; clients.remove(this); }
+        @Override public void onTimeout(AsyncEvent event) { close(); }
+        @Override public void onError(AsyncEvent event) { close(); }
+        @Override public void onStartAsync(AsyncEvent event) { }
+    }
+}
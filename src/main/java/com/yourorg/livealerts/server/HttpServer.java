@@ -1,95 +1,154 @@
 package com.yourorg.livealerts.server;
 
-import java.sql.ResultSet;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 
+import javax.servlet.http.HttpServletResponse;
+
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.yourorg.livealerts.geo.GeoIndex;
+import com.yourorg.livealerts.metrics.Histogram;
+import com.yourorg.livealerts.metrics.MetricsRegistry;
+import com.yourorg.livealerts.model.CompactEvent;
 import com.yourorg.livealerts.model.DisasterEvent;
-import com.yourorg.livealerts.service.NotificationService;
+import com.yourorg.livealerts.rules.AlertRule;
+import com.yourorg.livealerts.rules.RuleEngine;
+import com.yourorg.livealerts.service.NotificationDispatcher;
+import com.yourorg.livealerts.stats.StatsIndex;
 import com.yourorg.livealerts.storage.Database;
+import com.yourorg.livealerts.storage.EventCache;
+import com.yourorg.livealerts.storage.PageCursor;
+
+import spark.Request;
+import spark.Response;
+import spark.Route;
 
+import static spark.Spark.delete;
 import static spark.Spark.get;
+import static spark.Spark.post;
 import static spark.Spark.port;
-import static spark.Spark.staticFiles;
 
 public class HttpServer {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Gson GSON = new Gson();
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
     private final Database db;
-    private final Gson gson = new Gson();
-    private final NotificationService notificationService;
-    private final Set<String> notifiedEventIds = new HashSet<>();
-
-    // Backwards-compatible constructor: allows callers that still use (Database, int)
-    // to compile. It creates a default NotificationService (no-arg) and delegates
-    // to the main constructor.
-    public HttpServer(Database db, int port) {
-        this(db, new NotificationService(), port);
-    }
+    private final SnapshotStore snapshots;
+    private final EventStream eventStream;
+    private final GeoIndex geoIndex;
+    private final EventCache eventCache;
+    private final NotificationDispatcher notifications;
+    private final RuleEngine rules;
+    private final StatsIndex stats;
 
-    public HttpServer(Database db, NotificationService notificationService, int port) {
+    public HttpServer(Database db, SnapshotStore snapshots, EventStream eventStream, GeoIndex geoIndex,
+                      EventCache eventCache, NotificationDispatcher notifications, RuleEngine rules,
+                      StatsIndex stats, int port) {
         this.db = db;
-        this.notificationService = notificationService;
+        this.snapshots = snapshots;
+        this.eventStream = eventStream;
+        this.geoIndex = geoIndex;
+        this.eventCache = eventCache;
+        this.notifications = notifications;
+        this.rules = rules;
+        this.stats = stats;
         port(port);
-        staticFiles.location("/static"); // serves resources from src/main/resources/static
+        // dashboard files from memory: hashed names are immutable, index.html is revalidated
+        StaticAssets assets;
+        try {
+            assets = StaticAssets.load();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not load the dashboard's static files", ex);
+        }
+        StaticAssets.Asset index = assets.get("/index.html");
+        get("/", timed("GET /", (req, res) -> serveAsset(index, req, res)));
+        for (StaticAssets.Asset asset : assets.assets().values()) {
+            get(asset.path(), timed("GET /static", (req, res) -> serveAsset(asset, req, res)));
+        }
         // API endpoints
-        get("/events", (req, res) -> {
+        // /events is served from the in-memory snapshot: no database access on the request path
+        get("/events", timed("GET /events", (req, res) -> {
             res.type("application/json");
-            List<DisasterEvent> events = new ArrayList<>();
-            
-            String category = req.queryParams("category");
-            String source = req.queryParams("source");
-            
-            try (ResultSet rs = category == null && source == null ? 
-                    db.listAll() : 
-                    db.listFiltered(category, source)) {
-                while (rs.next()) {
-                    DisasterEvent event = new DisasterEvent();
-                    event.setId(rs.getString("id"));
-                    event.setTitle(rs.getString("title"));
-                    event.setCategory(rs.getString("category"));
-                    event.setLat(rs.getDouble("latitude"));
-                    event.setLon(rs.getDouble("longitude"));
-                    event.setSource(rs.getString("source"));
-                    event.setUrl(rs.getString("url"));
-                    event.setDate(rs.getString("date"));
-                    event.setMagnitude(rs.getDouble("magnitude"));
-                    events.add(event);
-                }
-            } catch (Exception ex) {
-                System.err.println("Error retrieving events: " + ex.getMessage());
+            if (req.queryParams("bbox") != null || req.queryParams("near") != null) {
+                return eventsGeo(req, res);
+            }
+            if (req.queryParams("limit") != null || req.queryParams("cursor") != null
+                    || req.queryParams("fields") != null
+                    || req.queryParams("since") != null || req.queryParams("until") != null) {
+                return eventsPage(req, res);
+            }
+            EventSnapshot.Body body = snapshots.current().body(req.queryParams("category"), req.queryParams("source"));
+            res.header("ETag", body.etag());
+            res.header("Cache-Control", "no-cache");
+            res.header("Vary", "Accept-Encoding");
+            String ifNoneMatch = req.headers("If-None-Match");
+            if (ifNoneMatch != null && ifNoneMatch.contains(body.etag())) {
+                res.status(304);
+                return "";
+            }
+            String acceptEncoding = req.headers("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                res.header("Content-Encoding", "gzip");
+                return writeRaw(res, body.gzip());
+            }
+            return writeRaw(res, body.json());
+        }));
+
+        // push stream of new/updated events (Server-Sent Events)
+        get("/events/stream", (req, res) -> {
+            eventStream.open(req.raw(), res.raw());
+            return "";
+        });
+
+        get("/health", timed("GET /health", (req, res) -> "OK"));
+
+        // GET /stats?since=&until=&category=&source=&bucket=hour|day : counts, max magnitude and
+        // latest time per category, source and time bucket, from the incrementally kept StatsIndex
+        get("/stats", timed("GET /stats", (req, res) -> {
+            res.type("application/json");
+            res.header("Cache-Control", "no-cache");
+            Long since;
+            Long until;
+            StatsIndex.Bucket bucket;
+            try {
+                since = parseTimeParam(req.queryParams("since"), "since");
+                until = parseTimeParam(req.queryParams("until"), "until");
+                bucket = parseBucket(req.queryParams("bucket"));
+            } catch (IllegalArgumentException ex) {
+                res.status(400);
+                return "{\"error\":\"" + ex.getMessage().replace("\"", "'") + "\"}";
             }
-            return gson.toJson(events);
+            return GSON.toJson(stats.stats(since, until, emptyToNull(req.queryParams("category")),
+                    emptyToNull(req.queryParams("source")), bucket));
+        }));
+
+        // Prometheus text exposition of MetricsRegistry.shared()
+        get("/metrics", (req, res) -> {
+            res.type("text/plain; version=0.0.4; charset=utf-8");
+            return MetricsRegistry.shared().scrape();
         });
 
-        get("/health", (req, res) -> "OK");
+        // alert subscriptions evaluated on every ingest cycle
+        ruleRoutes();
         
         // API endpoint to send email for a specific disaster event
-        get("/send-email", (req, res) -> {
+        get("/send-email", timed("GET /send-email", (req, res) -> {
             String id = req.queryParams("id");
             String source = req.queryParams("source");
             if (id == null || source == null) {
                 res.status(400);
                 return "Missing id or source parameter";
             }
-            DisasterEvent event = null;
-            try (ResultSet rs = db.listFiltered(null, source)) {
-                while (rs.next()) {
-                    if (id.equals(rs.getString("id"))) {
-                        event = new DisasterEvent();
-                        event.setId(rs.getString("id"));
-                        event.setTitle(rs.getString("title"));
-                        event.setCategory(rs.getString("category"));
-                        event.setLat(rs.getDouble("latitude"));
-                        event.setLon(rs.getDouble("longitude"));
-                        event.setSource(rs.getString("source"));
-                        event.setUrl(rs.getString("url"));
-                        event.setDate(rs.getString("date"));
-                        event.setMagnitude(rs.getDouble("magnitude"));
-                        break;
-                    }
-                }
+            DisasterEvent event;
+            try {
+                event = eventCache.find(id, source);
             } catch (Exception ex) {
                 res.status(500);
                 return "Error retrieving event: " + ex.getMessage();
@@ -98,13 +157,224 @@ public class HttpServer {
                 res.status(404);
                 return "Event not found";
             }
+            // delivery happens on the dispatcher's workers; answer as soon as it is queued
+            if (!notifications.submit(event)) {
+                res.status(503);
+                return "Notification queue is full, try again later";
+            }
+            res.status(202);
+            return "Email queued for event: " + event.getTitle();
+        }));
+    }
+
+    private void ruleRoutes() {
+        get("/rules", timed("GET /rules", (req, res) -> {
+            res.type("application/json");
+            return GSON.toJson(rules.list());
+        }));
+
+        // body: {"name", "category", "source", "minMagnitude", "lat", "lon", "radiusKm",
+        //        "polygon": [[lon, lat], ...], "recipients": [...]}; unset fields match anything
+        post("/rules", timed("POST /rules", (req, res) -> {
+            res.type("application/json");
             try {
-                notificationService.notifyNewAlert(event);
-                return "Email sent for event: " + event.getTitle();
-            } catch (Exception ex) {
-                res.status(500);
-                return "Failed to send email: " + ex.getMessage();
+                AlertRule rule = GSON.fromJson(req.body(), AlertRule.class);
+                if (rule == null) throw new IllegalArgumentException("rule body is required");
+                AlertRule saved = rules.add(rule);
+                res.status(201);
+                return GSON.toJson(saved);
+            } catch (JsonParseException | IllegalArgumentException ex) {
+                res.status(400);
+                return "{\"error\":\"" + String.valueOf(ex.getMessage()).replace("\"", "'") + "\"}";
             }
-        });
+        }));
+
+        delete("/rules/:id", timed("DELETE /rules/:id", (req, res) -> {
+            long id;
+            try {
+                id = Long.parseLong(req.params("id"));
+            } catch (NumberFormatException ex) {
+                res.status(400);
+                return "Invalid rule id";
+            }
+            if (!rules.remove(id)) {
+                res.status(404);
+                return "Rule not found";
+            }
+            res.status(204);
+            return "";
+        }));
+    }
+
+    // Records the route's latency under the given "METHOD path" label
+    private static Route timed(String route, Route handler) {
+        Histogram latency = MetricsRegistry.shared().histogram("livealerts_http_request_seconds",
+                "HTTP request latency by route", "route", route);
+        return (req, res) -> {
+            long start = System.nanoTime();
+            try {
+                return handler.handle(req, res);
+            } finally {
+                latency.observeSince(start);
+            }
+        };
+    }
+
+    // Serves an in-memory static file, gzipped when the client accepts it
+    private static String serveAsset(StaticAssets.Asset asset, Request req, Response res) throws IOException {
+        res.type(asset.contentType());
+        res.header("ETag", asset.etag());
+        res.header("Cache-Control", asset.immutable() ? IMMUTABLE : "no-cache");
+        if (asset.gzip() != null) res.header("Vary", "Accept-Encoding");
+        String ifNoneMatch = req.headers("If-None-Match");
+        if (ifNoneMatch != null && ifNoneMatch.contains(asset.etag())) {
+            res.status(304);
+            return "";
+        }
+        String acceptEncoding = req.headers("Accept-Encoding");
+        if (asset.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            res.header("Content-Encoding", "gzip");
+            return writeRaw(res, asset.gzip());
+        }
+        return writeRaw(res, asset.body());
+    }
+
+    // Writes a prepared body straight to the servlet response. Committing it here keeps
+    // Spark from serializing (and possibly re-gzipping) the route's return value.
+    private static String writeRaw(Response res, byte[] bytes) throws IOException {
+        HttpServletResponse raw = res.raw();
+        raw.setContentLength(bytes.length);
+        raw.getOutputStream().write(bytes);
+        raw.flushBuffer();
+        return "";
+    }
+
+    // GET /events?limit=&cursor=&fields=&since=&until= : keyset-paginated read over the time index;
+    // since/until take epoch millis or ISO-8601. The next page's cursor is returned in
+    // X-Next-Cursor (absent on the last page)
+    private String eventsPage(Request req, Response res) throws Exception {
+        int limit;
+        PageCursor cursor;
+        Set<String> fields;
+        Long since;
+        Long until;
+        try {
+            String limitParam = req.queryParams("limit");
+            limit = limitParam == null ? DEFAULT_PAGE_SIZE : Integer.parseInt(limitParam);
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            String cursorParam = req.queryParams("cursor");
+            cursor = cursorParam == null || cursorParam.isEmpty() ? null : PageCursor.decode(cursorParam);
+            fields = EventJson.parseFields(req.queryParams("fields"));
+            since = parseTimeParam(req.queryParams("since"), "since");
+            until = parseTimeParam(req.queryParams("until"), "until");
+        } catch (IllegalArgumentException ex) {
+            res.status(400);
+            return "{\"error\":\"" + ex.getMessage().replace("\"", "'") + "\"}";
+        }
+
+        // fetch one extra row to learn whether another page exists
+        List<DisasterEvent> page = db.listPage(req.queryParams("category"), req.queryParams("source"),
+                since, until, cursor, limit + 1);
+        if (page.size() > limit) {
+            page = page.subList(0, limit);
+            res.header("X-Next-Cursor", PageCursor.after(page.get(limit - 1)).encode());
+        }
+        return EventJson.write(page, fields);
+    }
+
+    // GET /events?near=lat,lon&radiusKm=  (nearest first, with distanceKm)
+    // GET /events?bbox=minLon,minLat,maxLon,maxLat  (newest first)
+    // Both honour category, source, limit and fields; answered from the in-memory GeoIndex.
+    private String eventsGeo(Request req, Response res) throws Exception {
+        String category = req.queryParams("category");
+        String source = req.queryParams("source");
+        // compare interned ids; a name never seen (-1) matches nothing
+        boolean anyCategory = category == null || category.isEmpty();
+        boolean anySource = source == null || source.isEmpty();
+        short categoryId = anyCategory ? 0 : CompactEvent.CATEGORIES.find(category);
+        short sourceId = anySource ? 0 : CompactEvent.SOURCES.find(source);
+        GeoIndex.EventFilter filter = e ->
+                (anyCategory || e.categoryId() == categoryId) && (anySource || e.sourceId() == sourceId);
+        List<GeoIndex.Hit> hits;
+        int limit;
+        Set<String> fields;
+        boolean near = req.queryParams("near") != null;
+        try {
+            if (req.queryParams("cursor") != null) {
+                throw new IllegalArgumentException("cursor is not supported with near or bbox");
+            }
+            String limitParam = req.queryParams("limit");
+            limit = limitParam == null ? DEFAULT_PAGE_SIZE : Integer.parseInt(limitParam);
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            fields = EventJson.parseFields(req.queryParams("fields"));
+            if (near) {
+                double[] point = parseNumbers(req.queryParams("near"), 2, "near=lat,lon");
+                String radiusParam = req.queryParams("radiusKm");
+                if (radiusParam == null) throw new IllegalArgumentException("radiusKm is required with near");
+                double radiusKm = Double.parseDouble(radiusParam);
+                if (!(radiusKm > 0) || radiusKm > 20_000) throw new IllegalArgumentException("radiusKm must be in (0, 20000]");
+                checkLatLon(point[0], point[1]);
+                hits = geoIndex.near(point[0], point[1], radiusKm, limit, filter);
+            } else {
+                double[] box = parseNumbers(req.queryParams("bbox"), 4, "bbox=minLon,minLat,maxLon,maxLat");
+                checkLatLon(box[1], box[0]);
+                checkLatLon(box[3], box[2]);
+                if (box[1] > box[3]) throw new IllegalArgumentException("bbox minLat must not exceed maxLat");
+                hits = geoIndex.within(box[1], box[0], box[3], box[2], filter);
+                hits.sort((a, b) -> CompactEvent.NEWEST_FIRST.compare(a.event(), b.event()));
+                if (hits.size() > limit) hits = hits.subList(0, limit);
+            }
+        } catch (IllegalArgumentException ex) {
+            res.status(400);
+            return "{\"error\":\"" + String.valueOf(ex.getMessage()).replace("\"", "'") + "\"}";
+        }
+
+        List<DisasterEvent> events = new ArrayList<>(hits.size());
+        double[] distances = near ? new double[hits.size()] : null;
+        for (int i = 0; i < hits.size(); i++) {
+            events.add(hits.get(i).event().toEvent());
+            if (near) distances[i] = hits.get(i).distanceKm();
+        }
+        return EventJson.write(events, distances, fields);
+    }
+
+    private static StatsIndex.Bucket parseBucket(String value) {
+        if (value == null || value.isBlank()) return null;
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "hour" -> StatsIndex.Bucket.HOUR;
+            case "day" -> StatsIndex.Bucket.DAY;
+            default -> throw new IllegalArgumentException("bucket must be hour or day");
+        };
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static Long parseTimeParam(String value, String name) {
+        if (value == null || value.isBlank()) return null;
+        long ms = DisasterEvent.parseTime(value);
+        if (ms == 0 && !value.trim().equals("0")) {
+            throw new IllegalArgumentException(name + " must be epoch millis or ISO-8601");
+        }
+        return ms;
+    }
+
+    private static double[] parseNumbers(String param, int count, String usage) {
+        String[] parts = param.split(",");
+        if (parts.length != count) throw new IllegalArgumentException("expected " + usage);
+        double[] out = new double[count];
+        for (int i = 0; i < count; i++) out[i] = Double.parseDouble(parts[i].trim());
+        return out;
+    }
+
+    private static void checkLatLon(double lat, double lon) {
+        if (!(lat >= -90 && lat <= 90) || !(lon >= -180 && lon <= 180)) {
+            throw new IllegalArgumentException("coordinates out of range");
+        }
     }
-}
\ No newline at end of file
+}
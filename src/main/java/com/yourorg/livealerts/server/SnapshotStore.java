@@ -0,0 +1,68 @@
+package com.yourorg.livealerts.server;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.yourorg.livealerts.ingest.ChangeListener;
+import com.yourorg.livealerts.ingest.EventChange;
+import com.yourorg.livealerts.model.DisasterEvent;
+import com.yourorg.livealerts.storage.Database;
+
+/**
+ * Holds the current {@link EventSnapshot}. Loaded once from the database, then rebuilt off
+ * the request path whenever an ingest cycle writes something, and swapped in atomically.
+ */
+public class SnapshotStore implements ChangeListener {
+    // Same order as the database: time_ms DESC, source DESC, id DESC
+    static final Comparator<DisasterEvent> ORDER =
+            Comparator.comparingLong(DisasterEvent::getTime)
+                    .thenComparing(DisasterEvent::getSource, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(DisasterEvent::getId, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .reversed();
+
+    private final AtomicReference<EventSnapshot> current = new AtomicReference<>();
+    // (source, id) -> event, as stored; only touched while holding the monitor
+    private final Map<String, DisasterEvent> byKey = new HashMap<>();
+
+    public SnapshotStore(Database db) throws SQLException {
+        for (DisasterEvent e : db.listAll()) {
+            byKey.put(key(e.getSource(), e.getId()), e);
+        }
+        publish(1);
+    }
+
+    public EventSnapshot current() {
+        return current.get();
+    }
+
+    @Override
+    public synchronized void onChanges(String source, List<EventChange> changes) {
+        boolean dirty = false;
+        for (EventChange c : changes) {
+            if (c.isWrite()) {
+                byKey.put(key(c.source(), c.id()), c.event());
+                dirty = true;
+            } else if (c.type() == EventChange.Type.ARCHIVED) {
+                dirty |= byKey.remove(key(c.source(), c.id())) != null;
+            }
+        }
+        if (dirty) publish(current.get().version() + 1);
+    }
+
+    private void publish(long version) {
+        List<DisasterEvent> events = new ArrayList<>(byKey.values());
+        events.sort(ORDER);
+        EventSnapshot next = new EventSnapshot(version, events);
+        next.warm();
+        current.set(next);
+    }
+
+    private static String key(String source, String id) {
+        return source + '\u0000' + id;
+    }
+}
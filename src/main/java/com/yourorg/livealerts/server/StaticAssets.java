@@ -0,0 +1,193 @@
+package com.yourorg.livealerts.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The dashboard's static files, held in memory with a gzip variant each.
+ *
+ * <p>At build time ({@code process-classes}, see pom.xml) {@link #main} reads
+ * {@code static/index.html} and the local files it links, writes each linked file under a
+ * content-hashed name ({@code script.3fa9c1d2e0.js}) together with a {@code .gz} variant, rewrites
+ * the links in index.html and records the names in {@code static-dist/manifest.properties}. At
+ * runtime {@link #load()} reads that output from the classpath; without it (e.g. run straight
+ * from an IDE) the same work is done in memory at startup.
+ *
+ * <p>Hashed names change whenever the content does, so they are served as immutable; index.html
+ * and the original names are revalidated on every load.
+ */
+public class StaticAssets {
+    private static final String SOURCE_DIR = "static";
+    private static final String DIST_DIR = "static-dist";
+    private static final String MANIFEST = "manifest.properties";
+    private static final String INDEX = "index.html";
+    // relative links to local files in index.html
+    private static final Pattern LOCAL_LINK = Pattern.compile("(?:href|src)=\"([\\w.-]+\\.(?:css|js))\"");
+
+    /** One servable file; {@code gzip} is null when compressing does not pay. */
+    public record Asset(String path, String contentType, byte[] body, byte[] gzip, String etag, boolean immutable) {}
+
+    private final Map<String, Asset> assets;
+
+    private StaticAssets(Map<String, Asset> assets) {
+        this.assets = assets;
+    }
+
+    /** Every servable asset by request path ("/index.html", "/script.3fa9c1d2e0.js", ...). */
+    public Map<String, Asset> assets() {
+        return assets;
+    }
+
+    public Asset get(String path) {
+        return assets.get(path);
+    }
+
+    /** Loads the build output from the classpath, or builds it in memory from the sources. */
+    public static StaticAssets load() throws IOException {
+        byte[] manifestBytes = resource(DIST_DIR + "/" + MANIFEST);
+        if (manifestBytes == null) {
+            byte[] index = resource(SOURCE_DIR + "/" + INDEX);
+            if (index == null) throw new IOException("No " + SOURCE_DIR + "/" + INDEX + " on the classpath");
+            System.out.println("No prebuilt static assets, hashing and compressing them at startup");
+            return fromBuild(build(index, name -> resource(SOURCE_DIR + "/" + name)));
+        }
+        Properties manifest = new Properties();
+        manifest.load(new ByteArrayInputStream(manifestBytes));
+        Map<String, Built> built = new LinkedHashMap<>();
+        for (String name : manifest.stringPropertyNames()) {
+            String hashed = manifest.getProperty(name);
+            byte[] body = resource(DIST_DIR + "/" + hashed);
+            if (body == null) throw new IOException("Missing " + DIST_DIR + "/" + hashed + " listed in the manifest");
+            built.put(name, new Built(hashed, body, resource(DIST_DIR + "/" + hashed + ".gz")));
+        }
+        return fromBuild(built);
+    }
+
+    /** Build step: {@code StaticAssets <source dir> <output dir>}. */
+    public static void main(String[] args) throws IOException {
+        Path in = Path.of(args.length > 0 ? args[0] : "target/classes/" + SOURCE_DIR);
+        Path out = Path.of(args.length > 1 ? args[1] : "target/classes/" + DIST_DIR);
+        Map<String, Built> built = build(Files.readAllBytes(in.resolve(INDEX)), name -> {
+            Path p = in.resolve(name);
+            return Files.exists(p) ? Files.readAllBytes(p) : null;
+        });
+        Files.createDirectories(out);
+        try (var old = Files.list(out)) {
+            for (Path p : (Iterable<Path>) old::iterator) Files.delete(p);
+        }
+        StringBuilder manifest = new StringBuilder("# original name = served name, written by StaticAssets\n");
+        long raw = 0;
+        long compressed = 0;
+        for (Map.Entry<String, Built> e : built.entrySet()) {
+            Built b = e.getValue();
+            Files.write(out.resolve(b.name()), b.body());
+            if (b.gzip() != null) Files.write(out.resolve(b.name() + ".gz"), b.gzip());
+            manifest.append(e.getKey()).append('=').append(b.name()).append('\n');
+            raw += b.body().length;
+            compressed += b.gzip() != null ? b.gzip().length : b.body().length;
+        }
+        Files.writeString(out.resolve(MANIFEST), manifest);
+        System.out.println("Static assets: " + built.size() + " files, " + raw + " bytes, " + compressed
+                + " gzipped -> " + out);
+    }
+
+    // a file as written by the build: served name, content, gzip variant (or null)
+    private record Built(String name, byte[] body, byte[] gzip) {}
+
+    @FunctionalInterface
+    private interface Reader {
+        byte[] read(String name) throws IOException;
+    }
+
+    // hashes and compresses index.html's local links, then index.html with the links rewritten
+    private static Map<String, Built> build(byte[] index, Reader reader) throws IOException {
+        Map<String, Built> built = new LinkedHashMap<>();
+        String html = new String(index, StandardCharsets.UTF_8);
+        Matcher m = LOCAL_LINK.matcher(html);
+        StringBuilder rewritten = new StringBuilder();
+        while (m.find()) {
+            String name = m.group(1);
+            Built asset = built.get(name);
+            if (asset == null) {
+                byte[] body = reader.read(name);
+                if (body == null) throw new IOException(INDEX + " links " + name + ", which does not exist");
+                asset = new Built(hashedName(name, body), body, gzipIfSmaller(body));
+                built.put(name, asset);
+            }
+            m.appendReplacement(rewritten, Matcher.quoteReplacement(m.group().replace(name, asset.name())));
+        }
+        m.appendTail(rewritten);
+        byte[] page = rewritten.toString().getBytes(StandardCharsets.UTF_8);
+        built.put(INDEX, new Built(INDEX, page, gzipIfSmaller(page)));
+        return built;
+    }
+
+    private static StaticAssets fromBuild(Map<String, Built> built) {
+        Map<String, Asset> assets = new LinkedHashMap<>();
+        for (Map.Entry<String, Built> e : built.entrySet()) {
+            String original = e.getKey();
+            Built b = e.getValue();
+            String type = contentType(original);
+            String etag = EventSnapshot.etag(b.body());
+            // the hashed name never changes content; the original name may, so it is revalidated
+            assets.put("/" + b.name(), new Asset("/" + b.name(), type, b.body(), b.gzip(), etag, !b.name().equals(original)));
+            if (!b.name().equals(original)) {
+                assets.put("/" + original, new Asset("/" + original, type, b.body(), b.gzip(), etag, false));
+            }
+        }
+        return new StaticAssets(assets);
+    }
+
+    private static String hashedName(String name, byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            int dot = name.lastIndexOf('.');
+            return name.substring(0, dot) + "." + HexFormat.of().formatHex(digest, 0, 5) + name.substring(dot);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // built once, so it can afford the slowest (smallest) level
+    private static byte[] gzipIfSmaller(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 3));
+        try (OutputStream gz = new GZIPOutputStream(out) {
+            { def.setLevel(Deflater.BEST_COMPRESSION); }
+        }) {
+            gz.write(data);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.size() < data.length ? out.toByteArray() : null;
+    }
+
+    private static String contentType(String name) {
+        if (name.endsWith(".html")) return "text/html; charset=utf-8";
+        if (name.endsWith(".css")) return "text/css; charset=utf-8";
+        if (name.endsWith(".js")) return "text/javascript; charset=utf-8";
+        return "application/octet-stream";
+    }
+
+    private static byte[] resource(String name) throws IOException {
+        try (InputStream in = StaticAssets.class.getClassLoader().getResourceAsStream(name)) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.yourorg.livealerts.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.yourorg.livealerts.metrics.Counter;
+import com.yourorg.livealerts.metrics.Histogram;
+import com.yourorg.livealerts.metrics.MetricsRegistry;
+import com.yourorg.livealerts.model.DisasterEvent;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Sends alert emails off the request thread. Alerts wait in a bounded queue and a few worker
+ * threads drain it; each worker keeps its own authenticated SMTP connection open between
+ * messages (closing it after a quiet period), so a burst pays the connect/STARTTLS/AUTH cost
+ * once per worker instead of once per email. Failed sends are retried with exponential backoff
+ * on a fresh connection.
+ */
+public class NotificationDispatcher {
+    private static final Logger LOGGER = Logger.getLogger(NotificationDispatcher.class.getName());
+
+    public static final int DEFAULT_WORKERS = 3;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long INITIAL_BACKOFF_MS = 1000;
+    // SMTP servers drop idle sessions; close ours first rather than discover it on the next send
+    private static final long IDLE_CLOSE_MS = 60_000;
+
+    /** Told the final outcome of one submitted alert, on a worker thread. */
+    @FunctionalInterface
+    public interface DeliveryCallback {
+        void done(boolean sent, String error);
+    }
+
+    // recipients == null means the service's default list; messageId and callback are optional
+    private record Alert(DisasterEvent event, List<String> recipients, String messageId, DeliveryCallback callback,
+                         long queuedNanos) {
+        void complete(boolean sent, String error) {
+            if (callback == null) return;
+            try {
+                callback.done(sent, error);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Delivery callback failed: {0}", ex.toString());
+            }
+        }
+    }
+
+    private final NotificationService service;
+    private final BlockingQueue<Alert> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Counter dropped;
+    private final Histogram sendTime;
+    private final Histogram deliveryTime;
+    private volatile boolean running = true;
+
+    public NotificationDispatcher(NotificationService service) {
+        this(service, DEFAULT_WORKERS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public NotificationDispatcher(NotificationService service, int workerCount, int queueCapacity) {
+        this.service = service;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        MetricsRegistry m = MetricsRegistry.shared();
+        m.gauge("livealerts_notify_queue_depth", "Alerts waiting for a worker", queue::size);
+        m.gauge("livealerts_notify_queue_capacity", "Size of the alert queue", () -> queueCapacity);
+        m.counter("livealerts_notify_sent_total", "Alert emails sent", sent::get);
+        m.counter("livealerts_notify_failed_total", "Alert emails given up on after retries", failed::get);
+        dropped = m.counter("livealerts_notify_dropped_total", "Alerts rejected because the queue was full");
+        sendTime = m.histogram("livealerts_notify_send_seconds", "One successful SMTP send, connecting if needed");
+        deliveryTime = m.histogram("livealerts_notify_delivery_seconds",
+                "From submit to sent, including queueing and retries");
+        for (int i = 0; i < workerCount; i++) {
+            Thread t = new Thread(this::work, "notify-" + i);
+            t.setDaemon(true);
+            t.start();
+            workers.add(t);
+        }
+    }
+
+    /**
+     * Queues an alert for delivery to the default recipients. Returns false (and drops the alert)
+     * if the queue is full.
+     */
+    public boolean submit(DisasterEvent event) {
+        return submit(event, null);
+    }
+
+    /** Queues an alert for delivery to specific recipients. */
+    public boolean submit(DisasterEvent event, List<String> recipients) {
+        return submit(event, recipients, null, null);
+    }
+
+    /**
+     * Queues an alert with a fixed Message-ID (so mail systems can drop a re-delivery) and a
+     * callback for the outcome.
+     */
+    public boolean submit(DisasterEvent event, List<String> recipients, String messageId, DeliveryCallback callback) {
+        if (!running) return false;
+        boolean accepted = queue.offer(new Alert(event, recipients, messageId, callback, System.nanoTime()));
+        if (!accepted) {
+            dropped.inc();
+            LOGGER.log(Level.WARNING, "Notification queue full; dropping alert for {0}", event.getId());
+        }
+        return accepted;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    public long sentCount() {
+        return sent.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    /** Stops the workers; alerts still queued are not sent. */
+    public void shutdown() {
+        running = false;
+        for (Thread t : workers) t.interrupt();
+    }
+
+    private void work() {
+        Transport transport = null;
+        try {
+            while (running) {
+                Alert alert = queue.poll(IDLE_CLOSE_MS, TimeUnit.MILLISECONDS);
+                if (alert == null) {
+                    transport = close(transport);
+                    continue;
+                }
+                service.showDesktopNotification(alert.event());
+                // per-rule alerts name their recipients; only the rest need the default list
+                boolean configured = alert.recipients() != null ? service.hasCredentials() : service.canSendEmail();
+                if (!configured) {
+                    LOGGER.log(Level.FINE, "Email not sent: configuration incomplete.");
+                    alert.complete(false, "email not configured");
+                    continue;
+                }
+                transport = deliver(transport, alert);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+        }
+    }
+
+    // Returns the connection to keep using (null if the last attempt left none open)
+    private Transport deliver(Transport transport, Alert alert) throws InterruptedException {
+        DisasterEvent event = alert.event();
+        long backoff = INITIAL_BACKOFF_MS;
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                MimeMessage message = alert.recipients() == null
+                        ? service.buildMessage(event)
+                        : service.buildMessage(event, alert.recipients());
+                if (transport == null || !transport.isConnected()) {
+                    close(transport);
+                    transport = service.openTransport();
+                }
+                message.saveChanges();
+                if (alert.messageId() != null) message.setHeader("Message-ID", alert.messageId());
+                transport.sendMessage(message, message.getAllRecipients());
+                sent.incrementAndGet();
+                sendTime.observeSince(start);
+                deliveryTime.observeSince(alert.queuedNanos());
+                alert.complete(true, null);
+                LOGGER.log(Level.FINE, "Alert email for {0} sent in {1} ms",
+                        new Object[]{event.getId(), (System.nanoTime() - start) / 1_000_000});
+                return transport;
+            } catch (MessagingException | RuntimeException ex) {
+                transport = close(transport);
+                if (attempt >= MAX_ATTEMPTS) {
+                    failed.incrementAndGet();
+                    LOGGER.log(Level.SEVERE, "Failed to send alert email for {0} after {1} attempts: {2}",
+                            new Object[]{event.getId(), attempt, ex.toString()});
+                    alert.complete(false, ex.toString());
+                    return null;
+                }
+                LOGGER.log(Level.WARNING, "Alert email for {0} failed (attempt {1}), retrying in {2} ms: {3}",
+                        new Object[]{event.getId(), attempt, backoff, ex.toString()});
+                Thread.sleep(backoff);
+                backoff *= 2;
+            }
+        }
+    }
+
+    private static Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException ignored) {
+            }
+        }
+        return null;
+    }
+}
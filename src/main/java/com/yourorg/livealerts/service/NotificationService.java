@@ -53,6 +53,7 @@ public class NotificationService {
     private final String smtpPort = "587";
 
     private TrayIcon trayIcon;
+    private Session session;
 
     /**
      * No-arg constructor (uses hard-coded values above).
@@ -116,10 +117,18 @@ public class NotificationService {
         showDesktopNotification(event);
     }
 
-    private boolean canSendEmail() {
+    boolean canSendEmail() {
+        return hasCredentials() && hasDefaultRecipients();
+    }
+
+    /** SMTP sender credentials are set; enough for alerts that carry their own recipients. */
+    boolean hasCredentials() {
         return senderEmail != null && !senderEmail.isBlank()
-            && senderPassword != null && !senderPassword.isBlank()
-            && recipientEmails != null && !recipientEmails.isEmpty();
+            && senderPassword != null && !senderPassword.isBlank();
+    }
+
+    boolean hasDefaultRecipients() {
+        return recipientEmails != null && !recipientEmails.isEmpty();
     }
 
     private void sendEmail(DisasterEvent event) {
@@ -128,62 +137,101 @@ public class NotificationService {
             return;
         }
 
-        Properties props = new Properties();
-        props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.smtp.host", smtpHost);
-        props.put("mail.smtp.port", smtpPort);
+        try {
+            MimeMessage message = buildMessage(event);
 
-        Session session = Session.getInstance(props, new Authenticator() {
-            @Override
-            protected PasswordAuthentication getPasswordAuthentication() {
-                return new PasswordAuthentication(senderEmail, senderPassword);
-            }
-        });
+            Transport.send(message);
+            LOGGER.log(Level.FINE, "HTML email notification sent (BCC) to {0} recipients.", recipientEmails.size());
+        } catch (MessagingException e) {
+            LOGGER.log(Level.SEVERE, "Failed to send email notification: {0}", e.toString());
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Unexpected error when sending email: {0}", e.toString());
+        }
+    }
 
-        try {
-            MimeMessage message = new MimeMessage(session);
-            message.setFrom(new InternetAddress(senderEmail));
+    // One Session for the life of the service; it only holds configuration
+    private synchronized Session session() {
+        if (session == null) {
+            Properties props = new Properties();
+            props.put("mail.smtp.auth", "true");
+            props.put("mail.smtp.starttls.enable", "true");
+            props.put("mail.smtp.host", smtpHost);
+            props.put("mail.smtp.port", smtpPort);
+            props.put("mail.smtp.connectiontimeout", "10000");
+            props.put("mail.smtp.timeout", "15000");
+            session = Session.getInstance(props, new Authenticator() {
+                @Override
+                protected PasswordAuthentication getPasswordAuthentication() {
+                    return new PasswordAuthentication(senderEmail, senderPassword);
+                }
+            });
+        }
+        return session;
+    }
 
-            // Make the sender visible in TO, actual recipients go into BCC (hidden from each other)
-            message.setRecipient(Message.RecipientType.TO, new InternetAddress(senderEmail));
-            String allRecipients = String.join(",", recipientEmails);
-            message.setRecipients(Message.RecipientType.BCC, InternetAddress.parse(allRecipients, true));
+    /**
+     * Opens an authenticated SMTP connection that can send many messages
+     * (used by {@link NotificationDispatcher} workers).
+     */
+    Transport openTransport() throws MessagingException {
+        Transport transport = session().getTransport("smtp");
+        transport.connect(smtpHost, Integer.parseInt(smtpPort), senderEmail, senderPassword);
+        return transport;
+    }
 
-            String subject = "Official Disaster Alert";
-            if (event.getTitle() != null && !event.getTitle().isBlank()) {
-                subject = subject + " — " + event.getTitle();
-            }
-            message.setSubject(subject);
+    /**
+     * Builds the alert email (plain text + HTML) for an event.
+     */
+    MimeMessage buildMessage(DisasterEvent event) throws MessagingException {
+        return buildMessage(event, recipientEmails);
+    }
 
-            // Plain-text part (fallback for email clients that do not render HTML)
-            String magnitudeLine = "";
-            if (event.getMagnitude() != null) {
-                magnitudeLine = String.format("Magnitude: %.1f%n", event.getMagnitude());
-            }
+    /**
+     * Builds the alert email for an event, addressed (BCC) to the given recipients.
+     */
+    MimeMessage buildMessage(DisasterEvent event, List<String> recipients) throws MessagingException {
+        MimeMessage message = new MimeMessage(session());
+        message.setFrom(new InternetAddress(senderEmail));
+
+        // Make the sender visible in TO, actual recipients go into BCC (hidden from each other)
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(senderEmail));
+        String allRecipients = String.join(",", recipients);
+        message.setRecipients(Message.RecipientType.BCC, InternetAddress.parse(allRecipients, true));
+
+        String subject = "Official Disaster Alert";
+        if (event.getTitle() != null && !event.getTitle().isBlank()) {
+            subject = subject + " — " + event.getTitle();
+        }
+        message.setSubject(subject);
 
-            String plainText = String.format(
-                "OFFICIAL DISASTER NOTIFICATION%n%n" +
-                "Title       : %s%n" +
-                "Category    : %s%n" +
-                "Location    : %.3f°%s, %.3f°%s%n" +
-                "Source      : %s%n" +
-                "Date        : %s%n" +
-                "Details     : %s%n%n" +
-                "For further details, please visit: %s%n%n" +
-                "------------------------------------------------------------%n" +
-                "This is an automated disaster alert sent by the Institutional Disaster Management Authority (NDMA), IT Department, IIT Nanded (Maharashtra).%n" +
-                "%nThis is a system-generated email. Please do not reply to this message.%n" +
-                "------------------------------------------------------------",
-                safe(event.getTitle()),
-                safe(event.getCategory()),
-                Math.abs(event.getLat()), event.getLat() >= 0 ? "N" : "S",
-                Math.abs(event.getLon()), event.getLon() >= 0 ? "E" : "W",
-                safe(event.getSource()),
-                safe(event.getDate() != null ? event.getDate().toString() : ""),
-                magnitudeLine,
-                safe(event.getUrl())
-            );
+        // Plain-text part (fallback for email clients that do not render HTML)
+        String magnitudeLine = "";
+        if (event.getMagnitude() != null) {
+            magnitudeLine = String.format("Magnitude: %.1f%n", event.getMagnitude());
+        }
+
+        String plainText = String.format(
+            "OFFICIAL DISASTER NOTIFICATION%n%n" +
+            "Title       : %s%n" +
+            "Category    : %s%n" +
+            "Location    : %.3f°%s, %.3f°%s%n" +
+            "Source      : %s%n" +
+            "Date        : %s%n" +
+            "Details     : %s%n%n" +
+            "For further details, please visit: %s%n%n" +
+            "------------------------------------------------------------%n" +
+            "This is an automated disaster alert sent by the Institutional Disaster Management Authority (NDMA), IT Department, IIT Nanded (Maharashtra).%n" +
+            "%nThis is a system-generated email. Please do not reply to this message.%n" +
+            "------------------------------------------------------------",
+            safe(event.getTitle()),
+            safe(event.getCategory()),
+            Math.abs(event.getLat()), event.getLat() >= 0 ? "N" : "S",
+            Math.abs(event.getLon()), event.getLon() >= 0 ? "E" : "W",
+            safe(event.getSource()),
+            safe(event.getDate() != null ? event.getDate().toString() : ""),
+            magnitudeLine,
+            safe(event.getUrl())
+        );
 
         // HTML part (nicer formatting) — note the escaped percent sign "%%" for "100%"
         String emailHtml = String.format("""
@@ -251,29 +299,22 @@ public class NotificationService {
         );
 
 
-            // Build multipart/alternative
-            MimeBodyPart textPart = new MimeBodyPart();
-            textPart.setText(plainText, "utf-8");
+        // Build multipart/alternative
+        MimeBodyPart textPart = new MimeBodyPart();
+        textPart.setText(plainText, "utf-8");
 
-            MimeBodyPart htmlPart = new MimeBodyPart();
-            htmlPart.setContent(emailHtml, "text/html; charset=utf-8");
+        MimeBodyPart htmlPart = new MimeBodyPart();
+        htmlPart.setContent(emailHtml, "text/html; charset=utf-8");
 
-            Multipart multipart = new MimeMultipart("alternative");
-            multipart.addBodyPart(textPart);
-            multipart.addBodyPart(htmlPart);
+        Multipart multipart = new MimeMultipart("alternative");
+        multipart.addBodyPart(textPart);
+        multipart.addBodyPart(htmlPart);
 
-            message.setContent(multipart);
-
-            Transport.send(message);
-            LOGGER.log(Level.FINE, "HTML email notification sent (BCC) to {0} recipients.", recipientEmails.size());
-        } catch (MessagingException e) {
-            LOGGER.log(Level.SEVERE, "Failed to send email notification: {0}", e.toString());
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Unexpected error when sending email: {0}", e.toString());
-        }
+        message.setContent(multipart);
+        return message;
     }
 
-    private void showDesktopNotification(DisasterEvent event) {
+    void showDesktopNotification(DisasterEvent event) {
         if (trayIcon != null) {
             String caption = "New Disaster Alert";
             String text = String.format("%s%nCategory: %s%nLocation: %.3f°%s, %.3f°%s",
@@ -0,0 +1,167 @@
+package com.yourorg.livealerts.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.yourorg.livealerts.ingest.ChangeListener;
+import com.yourorg.livealerts.ingest.EventChange;
+import com.yourorg.livealerts.metrics.MetricsRegistry;
+import com.yourorg.livealerts.storage.Database;
+import com.yourorg.livealerts.storage.OutboxMessage;
+
+/**
+ * Drains the outbox table into the {@link NotificationDispatcher}. Deliveries are claimed in
+ * batches under a lease, so after a crash anything claimed but not confirmed becomes due again
+ * once the lease runs out. Outcomes are collected in memory and written back in one transaction
+ * per loop pass instead of one commit per email.
+ *
+ * <p>Delivery is at least once: a crash between sending and recording the outcome resends that
+ * email. Each email carries a Message-ID derived from its idempotency key, so receiving mail
+ * systems can recognise the duplicate.
+ */
+public class OutboxSender implements ChangeListener {
+    private static final Logger LOGGER = Logger.getLogger(OutboxSender.class.getName());
+
+    // most deliveries out at the dispatcher at once: few enough to settle, retries included,
+    // well within the lease
+    private static final int BATCH = 50;
+    private static final long LEASE_MS = 5 * 60_000;
+    // upper bound on how long outcomes wait before being written back
+    private static final long PASS_MS = 1000;
+    private static final long IDLE_POLL_MS = 5000;
+    private static final int MAX_ATTEMPTS = 6;
+    private static final long RETRY_BASE_MS = 30_000;
+    private static final long KEEP_SENT_MS = 7L * 24 * 3600_000;
+    private static final long PRUNE_EVERY_MS = 3600_000;
+
+    private record Failure(OutboxMessage message, String error) {}
+
+    private final Database db;
+    private final NotificationDispatcher dispatcher;
+    private final ConcurrentLinkedQueue<Long> sent = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Failure> failed = new ConcurrentLinkedQueue<>();
+    private final Semaphore wake = new Semaphore(0);
+    private volatile boolean running;
+    private Thread thread;
+
+    public OutboxSender(Database db, NotificationDispatcher dispatcher) {
+        this.db = db;
+        this.dispatcher = dispatcher;
+        MetricsRegistry.shared().gauge("livealerts_outbox_backlog", "Outbox deliveries not yet sent or given up on",
+                () -> {
+                    try {
+                        return db.outboxBacklog();
+                    } catch (SQLException ex) {
+                        return Double.NaN;
+                    }
+                });
+    }
+
+    public synchronized void start() {
+        if (thread != null) return;
+        running = true;
+        thread = new Thread(this::run, "outbox-sender");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Stops claiming new work and records the outcomes already known. */
+    public synchronized void shutdown() {
+        running = false;
+        if (thread == null) return;
+        thread.interrupt();
+        try {
+            thread.join(5000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // new deliveries may have been committed with this cycle: look now instead of at the next poll
+    @Override
+    public void onChanges(String source, List<EventChange> changes) {
+        for (EventChange c : changes) {
+            if (c.isWrite()) {
+                wake.release();
+                return;
+            }
+        }
+    }
+
+    private void run() {
+        long lastPrune = 0;
+        // submitted and not yet settled; capped at BATCH so no claim waits in the dispatcher queue
+        // until its lease runs out and the row is handed out (and sent) a second time
+        int inFlight = 0;
+        while (running) {
+            try {
+                wake.tryAcquire(inFlight > 0 ? PASS_MS : IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                wake.drainPermits();
+                inFlight -= flush();
+
+                int room = Math.min(BATCH - inFlight, dispatcher.remainingCapacity());
+                if (room > 0) {
+                    for (OutboxMessage m : db.claimOutbox(room, LEASE_MS)) {
+                        String messageId = "<" + Integer.toHexString(m.key().hashCode())
+                                + "." + m.id() + "@livealerts>";
+                        boolean queued = dispatcher.submit(m.event(), m.recipients(), messageId, (ok, error) -> {
+                            if (ok) sent.add(m.id());
+                            else failed.add(new Failure(m, error));
+                        });
+                        // not queued: the lease simply runs out and the row is claimed again
+                        if (queued) inFlight++;
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+                if (now - lastPrune > PRUNE_EVERY_MS) {
+                    lastPrune = now;
+                    int pruned = db.pruneOutbox(now - KEEP_SENT_MS);
+                    if (pruned > 0) LOGGER.log(Level.FINE, "Pruned {0} sent outbox rows", pruned);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (SQLException | RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Outbox pass failed: {0}", ex.toString());
+            }
+        }
+    }
+
+    // Writes back collected outcomes; returns how many settled, recorded or not
+    private synchronized int flush() {
+        List<Long> ids = new ArrayList<>();
+        for (Long id; (id = sent.poll()) != null; ) ids.add(id);
+        int done = ids.size();
+        try {
+            db.markSent(ids);
+        } catch (SQLException ex) {
+            // still leased as SENDING; they are resent after the lease, which is the safe side
+            LOGGER.log(Level.WARNING, "Could not record {0} sent deliveries: {1}", new Object[]{ids.size(), ex.toString()});
+        }
+        long now = System.currentTimeMillis();
+        for (Failure f; (f = failed.poll()) != null; ) {
+            OutboxMessage m = f.message();
+            boolean giveUp = m.attempts() >= MAX_ATTEMPTS;
+            long retryAt = now + (RETRY_BASE_MS << Math.min(m.attempts() - 1, 10));
+            try {
+                db.markFailed(m.id(), f.error(), retryAt, giveUp);
+                if (giveUp) {
+                    LOGGER.log(Level.SEVERE, "Giving up on outbox delivery {0} after {1} attempts: {2}",
+                            new Object[]{m.key(), m.attempts(), f.error()});
+                }
+            } catch (SQLException ex) {
+                LOGGER.log(Level.WARNING, "Could not record failed delivery {0}: {1}", new Object[]{m.key(), ex.toString()});
+            }
+            done++;
+        }
+        return done;
+    }
+}
@@ -0,0 +1,213 @@
+package com.yourorg.livealerts.sim;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.yourorg.livealerts.App;
+import com.yourorg.livealerts.fetcher.EonetFetcher;
+import com.yourorg.livealerts.fetcher.FeedClient;
+import com.yourorg.livealerts.fetcher.UsgsFetcher;
+import com.yourorg.livealerts.ingest.Archiver;
+import com.yourorg.livealerts.ingest.EventChange;
+import com.yourorg.livealerts.ingest.FetchScheduler;
+import com.yourorg.livealerts.ingest.Ingestor;
+import com.yourorg.livealerts.server.SnapshotStore;
+import com.yourorg.livealerts.storage.Database;
+
+/**
+ * End-to-end load run with no network: starts a {@link StubFeedServer}, the full app wired by
+ * {@link App} as in Main against a temporary database, and {@code pollers} concurrent clients
+ * polling {@code /events} the way the dashboard does (gzip, revalidating with If-None-Match). At
+ * the end it prints sustained ingest rate, poll latency percentiles and heap growth.
+ *
+ * <pre>
+ * java -cp target/LiveAlerts-1.0-SNAPSHOT.jar com.yourorg.livealerts.sim.LoadTest \
+ *      --seconds 60 --pollers 16 --features 20000 --change-rate 0.02 --fetch-ms 1000
+ * </pre>
+ */
+public class LoadTest {
+
+    // latencies of one poller, in nanoseconds
+    private static final class Samples {
+        long[] values = new long[1024];
+        int size;
+        long ok;
+        long notModified;
+        long errors;
+
+        void add(long v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+        int seconds = Integer.parseInt(opts.getOrDefault("seconds", "30"));
+        int pollers = Integer.parseInt(opts.getOrDefault("pollers", "8"));
+        long thinkMs = Long.parseLong(opts.getOrDefault("think-ms", "100"));
+        int features = Integer.parseInt(opts.getOrDefault("features", "10000"));
+        double changeRate = Double.parseDouble(opts.getOrDefault("change-rate", "0.01"));
+        long fetchMs = Long.parseLong(opts.getOrDefault("fetch-ms", "1000"));
+        int port = Integer.parseInt(opts.getOrDefault("port", "4568"));
+        Path eonetFile = Path.of(opts.getOrDefault("eonet", "eonet.json"));
+
+        Path dir = Files.createTempDirectory("livealerts-load");
+        StubFeedServer stub = new StubFeedServer(0, eonetFile, features, changeRate);
+        stub.start();
+
+        Database db = new Database(dir.resolve("load.db").toString());
+        // same wiring as Main, retention included
+        App app = App.wire(db, new Archiver.Policy(Duration.ofDays(30), 500, Duration.ofMinutes(15)));
+        app.start();
+        Ingestor ingestor = app.ingestor();
+        SnapshotStore snapshots = app.snapshots();
+
+        AtomicLong processed = new AtomicLong();
+        AtomicLong written = new AtomicLong();
+        AtomicLong cycles = new AtomicLong();
+        ingestor.addListener((source, changes) -> {
+            cycles.incrementAndGet();
+            for (EventChange c : changes) {
+                if (c.type() == EventChange.Type.DISAPPEARED || c.type() == EventChange.Type.ARCHIVED) continue;
+                processed.incrementAndGet();
+                if (c.isWrite()) written.incrementAndGet();
+            }
+        });
+
+        app.serve(port);
+        spark.Spark.awaitInitialization();
+
+        FeedClient feedClient = new FeedClient();
+        FetchScheduler scheduler = new FetchScheduler(ingestor);
+        FetchScheduler.Schedule schedule = new FetchScheduler.Schedule(
+                Duration.ofMillis(fetchMs), Duration.ZERO, Duration.ofSeconds(30));
+        scheduler.schedule(new EonetFetcher(feedClient, stub.baseUrl() + "/eonet"), schedule);
+        scheduler.schedule(new UsgsFetcher(feedClient, stub.baseUrl() + "/usgs"), schedule);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        System.out.println("Load test: " + seconds + " s, " + pollers + " pollers (" + thinkMs + " ms think), "
+                + features + " USGS features at " + changeRate + " change rate, fetch every " + fetchMs + " ms");
+
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        scheduler.start();
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        URI events = URI.create("http://localhost:" + port + "/events");
+        List<Samples> samples = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < pollers; i++) {
+            Samples s = new Samples();
+            samples.add(s);
+            threads.add(Thread.ofPlatform().name("poller-" + i).start(() -> poll(http, events, deadline, thinkMs, s)));
+        }
+        for (Thread t : threads) t.join();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        scheduler.shutdown();
+        System.gc();
+        long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+        Samples all = new Samples();
+        for (Samples s : samples) {
+            for (int i = 0; i < s.size; i++) all.add(s.values[i]);
+            all.ok += s.ok;
+            all.notModified += s.notModified;
+            all.errors += s.errors;
+        }
+        Arrays.sort(all.values, 0, all.size);
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Ingest:  %d cycles, %d events processed (%.0f/s), %d written (%.0f/s), %d feed requests%n",
+                cycles.get(), processed.get(), processed.get() / elapsed, written.get(), written.get() / elapsed,
+                stub.requests());
+        System.out.printf(Locale.ROOT, "/events: %d requests (%.0f/s), %d 200, %d 304, %d errors%n",
+                all.size, all.size / elapsed, all.ok, all.notModified, all.errors);
+        System.out.printf(Locale.ROOT, "Latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 1.0));
+        System.out.printf(Locale.ROOT, "Heap:    %.1f MB -> %.1f MB after GC (%+.1f MB), %d events in snapshot%n",
+                heapBefore / 1048576.0, heapAfter / 1048576.0, (heapAfter - heapBefore) / 1048576.0,
+                snapshots.current().events().size());
+
+        spark.Spark.stop();
+        spark.Spark.awaitStop();
+        app.shutdown();
+        feedClient.close();
+        stub.close();
+        db.close();
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+        }
+        Files.deleteIfExists(dir);
+        System.exit(0);
+    }
+
+    private static void poll(HttpClient http, URI uri, long deadline, long thinkMs, Samples out) {
+        String etag = null;
+        while (System.nanoTime() < deadline) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Accept-Encoding", "gzip");
+            if (etag != null) request.header("If-None-Match", etag);
+            long t = System.nanoTime();
+            try {
+                HttpResponse<byte[]> res = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                out.add(System.nanoTime() - t);
+                if (res.statusCode() == 304) {
+                    out.notModified++;
+                } else if (res.statusCode() == 200) {
+                    out.ok++;
+                    etag = res.headers().firstValue("ETag").orElse(null);
+                } else {
+                    out.errors++;
+                }
+            } catch (Exception ex) {
+                out.errors++;
+            }
+            if (thinkMs > 0) {
+                try {
+                    Thread.sleep(thinkMs);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static double percentile(Samples s, double p) {
+        if (s.size == 0) return Double.NaN;
+        int i = Math.min(s.size - 1, (int) Math.ceil(p * s.size) - 1);
+        return s.values[Math.max(0, i)] / 1e6;
+    }
+
+    // --name value pairs
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value, got: " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+}
@@ -0,0 +1,275 @@
+package com.yourorg.livealerts.sim;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the NASA EONET and USGS feeds, for load runs and offline development.
+ *
+ * <ul>
+ *   <li>{@code /eonet} replays a saved EONET response (normally the bundled eonet.json)
+ *       unchanged, with a fixed ETag, so after the first poll it answers 304.</li>
+ *   <li>{@code /usgs} serves a synthetic "past day" GeoJSON feed of {@code usgsFeatures}
+ *       earthquakes. Every request advances it one step: {@code changeRate} of the features
+ *       are replaced by new quakes (the oldest drop out) and half as many get a revised
+ *       magnitude.</li>
+ *   <li>{@code /fdsnws/event/1/query} answers USGS FDSN history queries
+ *       ({@code starttime}/{@code endtime}) with a fixed number of quakes per day, for
+ *       backfill runs ({@code -Dlivealerts.usgs.fdsn.url=http://localhost:8089/fdsnws/event/1/query}).</li>
+ * </ul>
+ *
+ * Point the app at it with {@code -Dlivealerts.eonet.url=http://localhost:8089/eonet} and
+ * {@code -Dlivealerts.usgs.url=http://localhost:8089/usgs} (or EONET_URL / USGS_URL).
+ */
+public class StubFeedServer implements AutoCloseable {
+    private static final long DAY_MS = 24 * 3600_000L;
+    // synthetic history served by the FDSN query endpoint
+    private static final int HISTORY_PER_DAY = 1000;
+    private static final int HISTORY_LIMIT = 20_000;
+
+    // one synthetic quake; mag is revised in place
+    private static final class Quake {
+        final String id;
+        final long time;
+        final double lat;
+        final double lon;
+        final double depth;
+        final String place;
+        double mag;
+        long updated;
+
+        Quake(String id, long time, double lat, double lon, double depth, String place, double mag) {
+            this.id = id;
+            this.time = time;
+            this.lat = lat;
+            this.lon = lon;
+            this.depth = depth;
+            this.place = place;
+            this.mag = mag;
+            this.updated = time;
+        }
+    }
+
+    private final HttpServer server;
+    private final byte[] eonet;
+    private final String eonetEtag;
+    private final double changeRate;
+    private final Random random = new Random(42);
+    // oldest first; guarded by synchronized(this)
+    private final Deque<Quake> quakes = new ArrayDeque<>();
+    private long nextId;
+    private long clock;
+    private long generation;
+    private long requests;
+
+    public StubFeedServer(int port, Path eonetFile, int usgsFeatures, double changeRate) throws IOException {
+        if (usgsFeatures < 1) throw new IllegalArgumentException("usgsFeatures must be positive");
+        if (changeRate < 0 || changeRate > 1) throw new IllegalArgumentException("changeRate must be in [0, 1]");
+        this.eonet = Files.readAllBytes(eonetFile);
+        this.eonetEtag = "\"eonet-" + Integer.toHexString(Arrays.hashCode(eonet)) + '"';
+        this.changeRate = changeRate;
+        clock = System.currentTimeMillis() - DAY_MS;
+        long step = DAY_MS / usgsFeatures;
+        for (int i = 0; i < usgsFeatures; i++) {
+            clock += step;
+            quakes.addLast(newQuake());
+        }
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/eonet", this::serveEonet);
+        server.createContext("/usgs", this::serveUsgs);
+        server.createContext("/fdsnws/event/1/query", this::serveHistory);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /** Base URL of this server, e.g. {@code http://localhost:8089}. */
+    public String baseUrl() {
+        return "http://localhost:" + port();
+    }
+
+    /** Number of feed requests served so far. */
+    public synchronized long requests() {
+        return requests;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void serveEonet(HttpExchange ex) throws IOException {
+        synchronized (this) {
+            requests++;
+        }
+        if (eonetEtag.equals(ex.getRequestHeaders().getFirst("If-None-Match"))) {
+            send(ex, 304, null, eonetEtag);
+        } else {
+            send(ex, 200, eonet, eonetEtag);
+        }
+    }
+
+    private void serveUsgs(HttpExchange ex) throws IOException {
+        byte[] body;
+        String etag;
+        synchronized (this) {
+            requests++;
+            advance();
+            etag = "\"usgs-" + generation + '"';
+            body = usgsJson();
+        }
+        send(ex, 200, body, etag);
+    }
+
+    // GET /fdsnws/event/1/query?starttime=&endtime= : HISTORY_PER_DAY deterministic quakes per
+    // day of the range, oldest first; 400 above HISTORY_LIMIT like the real service
+    private void serveHistory(HttpExchange ex) throws IOException {
+        synchronized (this) {
+            requests++;
+        }
+        Map<String, String> query = new HashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) query.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        long start;
+        long end;
+        try {
+            start = Instant.parse(query.get("starttime")).toEpochMilli();
+            end = Instant.parse(query.get("endtime")).toEpochMilli();
+        } catch (RuntimeException bad) {
+            send(ex, 400, "Bad starttime/endtime".getBytes(StandardCharsets.UTF_8), "\"bad\"");
+            return;
+        }
+        long step = DAY_MS / HISTORY_PER_DAY;
+        long first = Math.floorDiv(start + step - 1, step);
+        long count = Math.max(0, Math.floorDiv(end - 1, step) - first + 1);
+        if (count > HISTORY_LIMIT) {
+            send(ex, 400, ("Error 400: " + count + " matching events exceeds search limit of " + HISTORY_LIMIT)
+                    .getBytes(StandardCharsets.UTF_8), "\"limit\"");
+            return;
+        }
+        StringBuilder sb = new StringBuilder((int) count * 700 + 128);
+        sb.append("{\"type\":\"FeatureCollection\",\"metadata\":{\"count\":").append(count).append("},\"features\":[");
+        for (long n = first; n < first + count; n++) {
+            if (n > first) sb.append(',');
+            // seeded by position, so the same window always yields the same quakes
+            Random r = new Random(n);
+            Quake q = new Quake("hist" + Long.toString(n, 36), n * step, r.nextDouble() * 180 - 90,
+                    r.nextDouble() * 360 - 180, r.nextDouble() * 50, r.nextInt(100) + " km NE of Somewhere",
+                    Math.round(r.nextDouble() * 70) / 10.0);
+            appendFeature(sb, q);
+        }
+        sb.append("]}");
+        send(ex, 200, sb.toString().getBytes(StandardCharsets.UTF_8), "\"history\"");
+    }
+
+    private static void send(HttpExchange ex, int status, byte[] body, String etag) throws IOException {
+        ex.getResponseHeaders().set("ETag", etag);
+        if (body == null) {
+            ex.sendResponseHeaders(status, -1);
+            ex.close();
+            return;
+        }
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // caller holds the lock
+    private void advance() {
+        generation++;
+        int replaced = (int) Math.round(quakes.size() * changeRate);
+        long step = Math.max(1, DAY_MS / quakes.size());
+        for (int i = 0; i < replaced; i++) {
+            quakes.pollFirst();
+            clock += step;
+            quakes.addLast(newQuake());
+        }
+        int revised = replaced / 2;
+        Quake[] all = quakes.toArray(new Quake[0]);
+        for (int i = 0; i < revised; i++) {
+            Quake q = all[random.nextInt(all.length)];
+            q.mag = Math.round((q.mag + random.nextDouble() - 0.5) * 10) / 10.0;
+            q.updated = clock;
+        }
+    }
+
+    private Quake newQuake() {
+        String id = "sim" + Long.toString(nextId++, 36);
+        return new Quake(id, clock, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180,
+                random.nextDouble() * 50, random.nextInt(100) + " km NE of Somewhere",
+                Math.round(random.nextDouble() * 70) / 10.0);
+    }
+
+    // caller holds the lock
+    private byte[] usgsJson() {
+        StringBuilder sb = new StringBuilder(quakes.size() * 700 + 256);
+        sb.append("{\"type\":\"FeatureCollection\",\"metadata\":{\"generated\":").append(clock)
+                .append(",\"title\":\"USGS All Earthquakes, Past Day (simulated)\",\"status\":200,\"count\":")
+                .append(quakes.size()).append("},\"features\":[");
+        boolean first = true;
+        // newest first, like the real feed
+        for (var it = quakes.descendingIterator(); it.hasNext(); ) {
+            Quake q = it.next();
+            if (!first) sb.append(',');
+            first = false;
+            appendFeature(sb, q);
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendFeature(StringBuilder sb, Quake q) {
+        sb.append(String.format(Locale.ROOT,
+                "{\"type\":\"Feature\",\"properties\":{\"mag\":%.1f,\"place\":\"%s\",\"time\":%d,\"updated\":%d,"
+                        + "\"url\":\"https://earthquake.usgs.gov/earthquakes/eventpage/%s\",\"status\":\"automatic\","
+                        + "\"tsunami\":0,\"net\":\"us\",\"code\":\"%s\",\"magType\":\"ml\",\"type\":\"earthquake\","
+                        + "\"title\":\"M %.1f - %s\"},\"geometry\":{\"type\":\"Point\",\"coordinates\":[%.4f,%.4f,%.2f]},"
+                        + "\"id\":\"%s\"}",
+                q.mag, q.place, q.time, q.updated, q.id, q.id, q.mag, q.place, q.lon, q.lat, q.depth, q.id));
+    }
+
+    /**
+     * Runs the stub on its own: {@code [port] [eonet.json] [usgsFeatures] [changeRate]},
+     * defaulting to 8089, eonet.json, 10000 and 0.01.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        Path eonetFile = Path.of(args.length > 1 ? args[1] : "eonet.json");
+        int features = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        double changeRate = args.length > 3 ? Double.parseDouble(args[3]) : 0.01;
+        StubFeedServer stub = new StubFeedServer(port, eonetFile, features, changeRate);
+        stub.start();
+        System.out.println("Stub feeds on " + stub.baseUrl() + "/eonet and " + stub.baseUrl() + "/usgs ("
+                + features + " quakes, " + changeRate + " change rate per request)");
+    }
+}
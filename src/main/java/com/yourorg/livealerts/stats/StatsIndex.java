@@ -0,0 +1,250 @@
+package com.yourorg.livealerts.stats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.yourorg.livealerts.ingest.ChangeListener;
+import com.yourorg.livealerts.ingest.EventChange;
+import com.yourorg.livealerts.model.CompactEvent;
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * Counts, maximum magnitude and latest time of the stored events, per category, source and
+ * hourly or daily bucket, kept current from the change stream: new and updated events are
+ * (re)counted, archived ones leave. The events are grouped into one cell per (hour, category,
+ * source), and a query only merges the cells of the hours it covers, so its cost follows the
+ * number of buckets rather than the number of events.
+ */
+public class StatsIndex implements ChangeListener {
+    static final long HOUR_MS = 3_600_000L;
+    static final long DAY_MS = 24 * HOUR_MS;
+    /** Whole-magnitude bins reported per group: [0, 1) (and below), [1, 2), ..., [9, ∞). */
+    public static final int MAGNITUDE_BINS = 10;
+
+    public enum Bucket { HOUR, DAY }
+
+    /**
+     * Aggregate of one group of events. {@code name} is set for categories and sources,
+     * {@code start} (epoch millis) for time buckets. {@code maxMagnitude} and
+     * {@code magnitudes} are null when no event in the group has a magnitude.
+     */
+    public record Group(String name, Long start, int count, Double maxMagnitude, long latest, int[] magnitudes) {}
+
+    /** A query's answer; {@code buckets} is null unless a bucket size was asked for. */
+    public record Stats(Group total, List<Group> categories, List<Group> sources, List<Group> buckets) {}
+
+    private static final Comparator<Group> BY_NAME =
+            Comparator.comparing(Group::name, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+    // what an event contributed, so an update or archive can take exactly that back out
+    private record Counted(long hour, int cell, long time, double magnitude) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // hour start -> cells of that hour by (category id << 16 | source id)
+    private final TreeMap<Long, Map<Integer, Cell>> hours = new TreeMap<>();
+    // source\0id -> its contribution
+    private final Map<String, Counted> counted = new HashMap<>();
+
+    public StatsIndex(Collection<DisasterEvent> initial) {
+        for (DisasterEvent e : initial) put(e);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return counted.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChanges(String source, List<EventChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (EventChange c : changes) {
+                if (c.isWrite()) put(c.event());
+                else if (c.type() == EventChange.Type.ARCHIVED) remove(key(c.source(), c.id()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aggregates over events with {@code since <= time < until} (either may be null), rounded
+     * out to whole hours, optionally restricted to one category and/or source.
+     */
+    public Stats stats(Long since, Long until, String category, String source, Bucket bucket) {
+        short categoryId = CompactEvent.CATEGORIES.find(category);
+        short sourceId = CompactEvent.SOURCES.find(source);
+        Agg total = new Agg();
+        Map<Short, Agg> byCategory = new TreeMap<>();
+        Map<Short, Agg> bySource = new TreeMap<>();
+        TreeMap<Long, Agg> byBucket = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            if (categoryId >= 0 && sourceId >= 0) {
+                long from = since == null ? Long.MIN_VALUE : Math.floorDiv(since, HOUR_MS) * HOUR_MS;
+                long to = until == null ? Long.MAX_VALUE : until;
+                for (Map.Entry<Long, Map<Integer, Cell>> hour : hours.subMap(from, true, to, false).entrySet()) {
+                    for (Map.Entry<Integer, Cell> e : hour.getValue().entrySet()) {
+                        short cat = (short) (e.getKey() >>> 16);
+                        short src = (short) (e.getKey() & 0xFFFF);
+                        if (category != null && cat != categoryId) continue;
+                        if (source != null && src != sourceId) continue;
+                        Cell cell = e.getValue();
+                        total.add(cell);
+                        byCategory.computeIfAbsent(cat, k -> new Agg()).add(cell);
+                        bySource.computeIfAbsent(src, k -> new Agg()).add(cell);
+                        if (bucket != null) {
+                            long start = bucket == Bucket.DAY ? Math.floorDiv(hour.getKey(), DAY_MS) * DAY_MS : hour.getKey();
+                            byBucket.computeIfAbsent(start, k -> new Agg()).add(cell);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Group> categories = new ArrayList<>();
+        byCategory.forEach((id, agg) -> categories.add(agg.group(CompactEvent.CATEGORIES.nameOf(id), null)));
+        List<Group> sources = new ArrayList<>();
+        bySource.forEach((id, agg) -> sources.add(agg.group(CompactEvent.SOURCES.nameOf(id), null)));
+        categories.sort(BY_NAME);
+        sources.sort(BY_NAME);
+        List<Group> buckets = null;
+        if (bucket != null) {
+            buckets = new ArrayList<>();
+            for (Map.Entry<Long, Agg> e : byBucket.entrySet()) buckets.add(e.getValue().group(null, e.getKey()));
+        }
+        return new Stats(total.group(null, null), categories, sources, buckets);
+    }
+
+    private void put(DisasterEvent e) {
+        String key = key(e.getSource(), e.getId());
+        remove(key);
+        long hour = Math.floorDiv(e.getTime(), HOUR_MS) * HOUR_MS;
+        int cellKey = CompactEvent.CATEGORIES.idOf(e.getCategory()) << 16 | CompactEvent.SOURCES.idOf(e.getSource());
+        double magnitude = e.getMagnitude() != null ? e.getMagnitude() : Double.NaN;
+        hours.computeIfAbsent(hour, k -> new HashMap<>()).computeIfAbsent(cellKey, k -> new Cell())
+                .add(e.getTime(), magnitude);
+        counted.put(key, new Counted(hour, cellKey, e.getTime(), magnitude));
+    }
+
+    private void remove(String key) {
+        Counted c = counted.remove(key);
+        if (c == null) return;
+        Map<Integer, Cell> cells = hours.get(c.hour());
+        Cell cell = cells.get(c.cell());
+        cell.remove(c.time(), c.magnitude());
+        if (cell.times.size == 0) {
+            cells.remove(c.cell());
+            if (cells.isEmpty()) hours.remove(c.hour());
+        }
+    }
+
+    private static String key(String source, String id) {
+        return source + '\0' + id;
+    }
+
+    // events of one (hour, category, source): times and magnitudes, each kept sorted
+    private static final class Cell {
+        // magnitudes are stored in thousandths, finer than any feed reports them
+        static final double MAGNITUDE_SCALE = 1000;
+
+        final Sorted times = new Sorted();
+        final Sorted magnitudes = new Sorted();
+
+        void add(long time, double magnitude) {
+            times.add(time);
+            if (!Double.isNaN(magnitude)) magnitudes.add(Math.round(magnitude * MAGNITUDE_SCALE));
+        }
+
+        void remove(long time, double magnitude) {
+            times.remove(time);
+            if (!Double.isNaN(magnitude)) magnitudes.remove(Math.round(magnitude * MAGNITUDE_SCALE));
+        }
+
+        double maxMagnitude() {
+            return magnitudes.values[magnitudes.size - 1] / MAGNITUDE_SCALE;
+        }
+
+        /** Number of magnitudes below {@code m}. */
+        int magnitudesBelow(int m) {
+            return magnitudes.lowerBound(Math.round(m * MAGNITUDE_SCALE));
+        }
+    }
+
+    // sorted multiset of longs in a growable array; cells are small, so shifting is cheap
+    private static final class Sorted {
+        long[] values = new long[4];
+        int size;
+
+        void add(long v) {
+            int i = lowerBound(v);
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            System.arraycopy(values, i, values, i + 1, size - i);
+            values[i] = v;
+            size++;
+        }
+
+        void remove(long v) {
+            int i = lowerBound(v);
+            if (i == size || values[i] != v) return;
+            System.arraycopy(values, i + 1, values, i, size - i - 1);
+            size--;
+        }
+
+        // first index whose value is >= v
+        int lowerBound(long v) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < v) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    // running totals of a group while a query merges cells
+    private static final class Agg {
+        int count;
+        int withMagnitude;
+        double maxMagnitude = Double.NEGATIVE_INFINITY;
+        long latest = Long.MIN_VALUE;
+        final int[] magnitudes = new int[MAGNITUDE_BINS];
+
+        void add(Cell cell) {
+            count += cell.times.size;
+            latest = Math.max(latest, cell.times.values[cell.times.size - 1]);
+            int n = cell.magnitudes.size;
+            if (n == 0) return;
+            withMagnitude += n;
+            maxMagnitude = Math.max(maxMagnitude, cell.maxMagnitude());
+            int below = 0;
+            for (int bin = 0; bin < MAGNITUDE_BINS - 1; bin++) {
+                int next = cell.magnitudesBelow(bin + 1);
+                magnitudes[bin] += next - below;
+                below = next;
+            }
+            magnitudes[MAGNITUDE_BINS - 1] += n - below;
+        }
+
+        Group group(String name, Long start) {
+            boolean any = withMagnitude > 0;
+            return new Group(name, start, count, any ? maxMagnitude : null,
+                    count > 0 ? latest : 0, any ? magnitudes : null);
+        }
+    }
+}
@@ -6,21 +6,112 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+import org.sqlite.SQLiteConfig;
+
+import com.google.gson.Gson;
+import com.yourorg.livealerts.metrics.Histogram;
+import com.yourorg.livealerts.metrics.MetricsRegistry;
 import com.yourorg.livealerts.model.DisasterEvent;
+import com.yourorg.livealerts.rules.AlertRule;
 
 public class Database {
+    private static final int READ_POOL_SIZE = 4;
+    private static final Gson GSON = new Gson();
+
+    // query timings by operation; reads include the wait for a pooled connection, writes the
+    // wait for the writer
+    private static final Histogram UPSERT_TIME = timer("upsert_batch");
+    private static final Histogram CLAIM_TIME = timer("claim_outbox");
+    private static final Histogram ARCHIVE_TIME = timer("archive");
+    private static final Histogram FINGERPRINTS_TIME = timer("load_fingerprints");
+    private static final Histogram BACKLOG_TIME = timer("outbox_backlog");
+    private static final Histogram OLDER_THAN_TIME = timer("list_older_than");
+    private static final Histogram FIND_TIME = timer("find_by_id");
+    private static final Histogram RULES_TIME = timer("list_rules");
+    private static final Histogram LIST_TIME = timer("list_filtered");
+    private static final Histogram PAGE_TIME = timer("list_page");
+    private static final Histogram CHECKPOINT_TIME = timer("backfill_checkpoints");
+
     private final String dbUrl;
-    private final Connection connection;
+    // Single connection that performs every write (guarded by synchronized(this))
+    private final Connection writer;
+    // Read-only connections borrowed by queries; WAL lets them read while the writer commits
+    private final BlockingQueue<Connection> readers = new ArrayBlockingQueue<>(READ_POOL_SIZE);
+    // Cached statements for the bulk ingest path (guarded by synchronized(this))
+    private PreparedStatement insertStmt;
+    private PreparedStatement updateStmt;
+    private PreparedStatement outboxStmt;
+
+    /** Row counts reported by {@link #upsertAll}; {@code queued} counts new outbox rows. */
+    public record UpsertResult(int inserted, int updated, int unchanged, int queued) {
+        public int total() { return inserted + updated + unchanged; }
+    }
 
     public Database(String filePath) throws SQLException {
         dbUrl = "jdbc:sqlite:" + filePath;
-        connection = DriverManager.getConnection(dbUrl);
-        // Set busy timeout to 5 seconds
-        try (Statement s = connection.createStatement()) {
+        writer = DriverManager.getConnection(dbUrl);
+        try (Statement s = writer.createStatement()) {
+            // Set busy timeout to 5 seconds
             s.execute("PRAGMA busy_timeout = 5000;");
+            // WAL: readers see the last committed state and never block (or get blocked by) the writer
+            s.execute("PRAGMA journal_mode = WAL;");
+            // durable at checkpoints; in WAL mode this cannot corrupt the database
+            s.execute("PRAGMA synchronous = NORMAL;");
         }
+        enableIncrementalVacuum();
         init();
+        SQLiteConfig readConfig = new SQLiteConfig();
+        readConfig.setReadOnly(true);
+        readConfig.setBusyTimeout(5000);
+        for (int i = 0; i < READ_POOL_SIZE; i++) {
+            readers.add(DriverManager.getConnection(dbUrl, readConfig.toProperties()));
+        }
+    }
+
+    /** Work done with a pooled read-only connection. */
+    @FunctionalInterface
+    private interface ReadOp<T> {
+        T apply(Connection c) throws SQLException;
+    }
+
+    private <T> T read(Histogram timer, ReadOp<T> op) throws SQLException {
+        long start = System.nanoTime();
+        Connection c;
+        try {
+            c = readers.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection", ex);
+        }
+        try {
+            return op.apply(c);
+        } finally {
+            readers.add(c);
+            timer.observeSince(start);
+        }
+    }
+
+    private static Histogram timer(String op) {
+        return MetricsRegistry.shared().histogram("livealerts_db_query_seconds", "SQLite operation latency", "op", op);
+    }
+
+    public void close() throws SQLException {
+        synchronized (this) {
+            writer.close();
+        }
+        Connection c;
+        while ((c = readers.poll()) != null) c.close();
     }
 
     private void init() throws SQLException {
@@ -35,22 +126,155 @@ public class Database {
                             url TEXT,
                             date TEXT,
                             magnitude REAL,
+                            time_ms INTEGER,
                             PRIMARY KEY (id, source)
                         );
                         """;
-                try (Statement s = connection.createStatement()) { s.execute(sql); }
+                try (Statement s = writer.createStatement()) { s.execute(sql); }
+                ensureColumn("fingerprint", "INTEGER");
+                if (ensureColumn("time_ms", "INTEGER")) backfillTimes();
+                try (Statement s = writer.createStatement()) {
+                    s.execute("DROP INDEX IF EXISTS idx_events_page;");
+                    createEventIndexes(s);
+                    // alert subscriptions; polygon and recipients are JSON arrays
+                    s.execute("""
+                            CREATE TABLE IF NOT EXISTS alert_rules (
+                                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                                name TEXT,
+                                category TEXT,
+                                source TEXT,
+                                min_magnitude REAL,
+                                lat REAL,
+                                lon REAL,
+                                radius_km REAL,
+                                polygon TEXT,
+                                recipients TEXT NOT NULL
+                            );
+                            """);
+                    // pending notification deliveries, written in the same transaction as the events
+                    s.execute("""
+                            CREATE TABLE IF NOT EXISTS outbox (
+                                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                                idem_key TEXT NOT NULL UNIQUE,
+                                channel TEXT NOT NULL,
+                                recipients TEXT NOT NULL,
+                                payload TEXT NOT NULL,
+                                state TEXT NOT NULL DEFAULT 'PENDING',
+                                attempts INTEGER NOT NULL DEFAULT 0,
+                                lease_until INTEGER NOT NULL DEFAULT 0,
+                                created_ms INTEGER NOT NULL,
+                                sent_ms INTEGER,
+                                last_error TEXT
+                            );
+                            """);
+                    s.execute("CREATE INDEX IF NOT EXISTS idx_outbox_due ON outbox(state, lease_until);");
+                    // completed slices of historical backfills, so an interrupted run can resume
+                    s.execute("""
+                            CREATE TABLE IF NOT EXISTS backfill_checkpoints (
+                                job TEXT NOT NULL,
+                                unit TEXT NOT NULL,
+                                events INTEGER NOT NULL,
+                                done_ms INTEGER NOT NULL,
+                                PRIMARY KEY (job, unit)
+                            );
+                            """);
+                }
+    }
+
+    private static void createEventIndexes(Statement s) throws SQLException {
+        // event time order: serves ORDER BY, since/until ranges and keyset pagination
+        s.execute("CREATE INDEX IF NOT EXISTS idx_events_time ON events(time_ms DESC, source DESC, id DESC);");
+        // filtered listings: equality on the filter column, then time order
+        s.execute("CREATE INDEX IF NOT EXISTS idx_events_category ON events(category, time_ms DESC);");
+        s.execute("CREATE INDEX IF NOT EXISTS idx_events_source ON events(source, time_ms DESC);");
+    }
+
+    // One-off migration: auto_vacuum can only be switched on an existing file by a full VACUUM.
+    // Afterwards freed pages can be handed back in small steps with incrementalVacuum().
+    private void enableIncrementalVacuum() throws SQLException {
+        try (Statement s = writer.createStatement()) {
+            int mode;
+            try (ResultSet rs = s.executeQuery("PRAGMA auto_vacuum;")) {
+                mode = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (mode == 2) return;
+            System.out.println("Rebuilding database with auto_vacuum=INCREMENTAL (one-time)...");
+            s.execute("PRAGMA auto_vacuum = INCREMENTAL;");
+            s.execute("VACUUM;");
+        }
+    }
+
+    // One-off migration: derive time_ms from the mixed-format date text of existing rows
+    private void backfillTimes() throws SQLException {
+        List<String[]> rows = new ArrayList<>();
+        try (Statement s = writer.createStatement();
+             ResultSet rs = s.executeQuery("SELECT id, source, date FROM events WHERE time_ms IS NULL;")) {
+            while (rs.next()) rows.add(new String[] { rs.getString("id"), rs.getString("source"), rs.getString("date") });
+        }
+        if (rows.isEmpty()) return;
+        writer.setAutoCommit(false);
+        try (PreparedStatement p = writer.prepareStatement("UPDATE events SET time_ms=? WHERE id=? AND source=?;")) {
+            for (String[] row : rows) {
+                p.setLong(1, DisasterEvent.parseTime(row[2]));
+                p.setString(2, row[0]);
+                p.setString(3, row[1]);
+                p.addBatch();
+            }
+            p.executeBatch();
+            writer.commit();
+        } catch (SQLException ex) {
+            writer.rollback();
+            throw ex;
+        } finally {
+            writer.setAutoCommit(true);
+        }
+        System.out.println("Migrated " + rows.size() + " event dates to time_ms");
+    }
+
+    // Adds a column to the events table when upgrading a database created by an older build.
+    // Returns true if the column had to be added.
+    private boolean ensureColumn(String name, String type) throws SQLException {
+        try (Statement s = writer.createStatement();
+             ResultSet rs = s.executeQuery("PRAGMA table_info(events);")) {
+            while (rs.next()) {
+                if (name.equalsIgnoreCase(rs.getString("name"))) return false;
+            }
+        }
+        try (Statement s = writer.createStatement()) {
+            s.execute("ALTER TABLE events ADD COLUMN " + name + " " + type + ";");
+        }
+        return true;
+    }
+
+    /**
+     * Loads the stored content fingerprint of every event, keyed by source then id.
+     * Rows written before fingerprints existed map to 0.
+     */
+    public Map<String, Map<String, Long>> loadFingerprints() throws SQLException {
+        return read(FINGERPRINTS_TIME, c -> {
+            Map<String, Map<String, Long>> out = new HashMap<>();
+            try (Statement s = c.createStatement();
+                 ResultSet rs = s.executeQuery("SELECT id, source, fingerprint FROM events;")) {
+                while (rs.next()) {
+                    out.computeIfAbsent(rs.getString("source"), k -> new HashMap<>())
+                            .put(rs.getString("id"), rs.getLong("fingerprint"));
+                }
+            }
+            return out;
+        });
     }
 
     public void upsert(DisasterEvent e) throws SQLException {
         String sql = """
-            INSERT INTO events (id,title,category,latitude,longitude,source,url,date,magnitude)
-            VALUES (?,?,?,?,?,?,?,?,?)
+            INSERT INTO events (id,title,category,latitude,longitude,source,url,date,magnitude,fingerprint,time_ms)
+            VALUES (?,?,?,?,?,?,?,?,?,?,?)
             ON CONFLICT(id,source) DO UPDATE SET
              title=excluded.title, category=excluded.category, latitude=excluded.latitude,
-             longitude=excluded.longitude, url=excluded.url, date=excluded.date, magnitude=excluded.magnitude;
+             longitude=excluded.longitude, url=excluded.url, date=excluded.date, magnitude=excluded.magnitude,
+             fingerprint=excluded.fingerprint, time_ms=excluded.time_ms;
             """;
         synchronized (this) {
-            try (PreparedStatement p = connection.prepareStatement(sql)) {
+            try (PreparedStatement p = writer.prepareStatement(sql)) {
                 p.setString(1, e.getId());
                 p.setString(2, e.getTitle());
                 p.setString(3, e.getCategory());
@@ -60,18 +284,525 @@ public class Database {
                 p.setString(7, e.getUrl());
                 p.setString(8, e.getDate());
                 p.setDouble(9, e.getMagnitude() != null ? e.getMagnitude() : 0.0);
+                p.setLong(10, e.contentHash());
+                p.setLong(11, e.getTime());
                 p.executeUpdate();
             }
         }
     }
 
-    // Get all events (returns ResultSet; caller must close)
-    public ResultSet listAll() throws SQLException {
-    Statement s = connection.createStatement();
-    return s.executeQuery("SELECT * FROM events ORDER BY date DESC;");
+    /**
+     * Writes a whole fetch cycle in one transaction using JDBC batching.
+     * New rows are inserted; existing rows are only rewritten when their content fingerprint changed.
+     */
+    public UpsertResult upsertAll(Collection<DisasterEvent> events) throws SQLException {
+        return upsertAll(events, List.of());
     }
 
-    public ResultSet listFiltered(String category, String source) throws SQLException {
+    /**
+     * Writes events and enqueues outbox messages in one transaction, so a delivery is recorded
+     * if and only if the event change that caused it is. Messages whose idempotency key already
+     * exists are skipped.
+     */
+    public UpsertResult upsertAll(Collection<DisasterEvent> events, Collection<OutboxMessage> outbox) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return writeAll(events, outbox);
+        } finally {
+            UPSERT_TIME.observeSince(start);
+        }
+    }
+
+    private UpsertResult writeAll(Collection<DisasterEvent> events, Collection<OutboxMessage> outbox) throws SQLException {
+        if (events.isEmpty() && outbox.isEmpty()) return new UpsertResult(0, 0, 0, 0);
+        synchronized (this) {
+            if (insertStmt == null) {
+                insertStmt = writer.prepareStatement("""
+                    INSERT OR IGNORE INTO events (id,title,category,latitude,longitude,source,url,date,magnitude,fingerprint,time_ms)
+                    VALUES (?,?,?,?,?,?,?,?,?,?,?);
+                    """);
+                updateStmt = writer.prepareStatement("""
+                    UPDATE events SET title=?1, category=?2, latitude=?3, longitude=?4, url=?5, date=?6, magnitude=?7,
+                     fingerprint=?8, time_ms=?11
+                    WHERE id=?9 AND source=?10 AND fingerprint IS NOT ?8;
+                    """);
+                outboxStmt = writer.prepareStatement("""
+                    INSERT OR IGNORE INTO outbox (idem_key,channel,recipients,payload,created_ms)
+                    VALUES (?,?,?,?,?);
+                    """);
+            }
+            boolean autoCommit = writer.getAutoCommit();
+            writer.setAutoCommit(false);
+            try {
+                List<DisasterEvent> batch = new ArrayList<>(events);
+                for (DisasterEvent e : batch) {
+                    insertStmt.setString(1, e.getId());
+                    insertStmt.setString(2, e.getTitle());
+                    insertStmt.setString(3, e.getCategory());
+                    insertStmt.setDouble(4, e.getLat());
+                    insertStmt.setDouble(5, e.getLon());
+                    insertStmt.setString(6, e.getSource());
+                    insertStmt.setString(7, e.getUrl());
+                    insertStmt.setString(8, e.getDate());
+                    insertStmt.setDouble(9, e.getMagnitude() != null ? e.getMagnitude() : 0.0);
+                    insertStmt.setLong(10, e.contentHash());
+                    insertStmt.setLong(11, e.getTime());
+                    insertStmt.addBatch();
+                }
+                int[] inserted = batch.isEmpty() ? new int[0] : insertStmt.executeBatch();
+
+                // rows the insert ignored already exist: rewrite them only if something changed
+                int insertedCount = 0;
+                List<DisasterEvent> existing = new ArrayList<>();
+                for (int i = 0; i < inserted.length; i++) {
+                    if (inserted[i] > 0) insertedCount++;
+                    else existing.add(batch.get(i));
+                }
+                int updatedCount = 0;
+                if (!existing.isEmpty()) {
+                    for (DisasterEvent e : existing) {
+                        updateStmt.setString(1, e.getTitle());
+                        updateStmt.setString(2, e.getCategory());
+                        updateStmt.setDouble(3, e.getLat());
+                        updateStmt.setDouble(4, e.getLon());
+                        updateStmt.setString(5, e.getUrl());
+                        updateStmt.setString(6, e.getDate());
+                        updateStmt.setDouble(7, e.getMagnitude() != null ? e.getMagnitude() : 0.0);
+                        updateStmt.setLong(8, e.contentHash());
+                        updateStmt.setString(9, e.getId());
+                        updateStmt.setString(10, e.getSource());
+                        updateStmt.setLong(11, e.getTime());
+                        updateStmt.addBatch();
+                    }
+                    for (int n : updateStmt.executeBatch()) {
+                        if (n > 0) updatedCount++;
+                    }
+                }
+                int queuedCount = 0;
+                if (!outbox.isEmpty()) {
+                    long now = System.currentTimeMillis();
+                    for (OutboxMessage m : outbox) {
+                        outboxStmt.setString(1, m.key());
+                        outboxStmt.setString(2, m.channel());
+                        outboxStmt.setString(3, GSON.toJson(m.recipients()));
+                        outboxStmt.setString(4, GSON.toJson(m.event()));
+                        outboxStmt.setLong(5, now);
+                        outboxStmt.addBatch();
+                    }
+                    for (int n : outboxStmt.executeBatch()) {
+                        if (n > 0) queuedCount++;
+                    }
+                }
+                writer.commit();
+                return new UpsertResult(insertedCount, updatedCount,
+                        batch.size() - insertedCount - updatedCount, queuedCount);
+            } catch (SQLException ex) {
+                writer.rollback();
+                throw ex;
+            } finally {
+                writer.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Prepares for a backfill: drops the secondary event indexes (rebuilt in one pass by
+     * {@link #endBulkLoad}) and turns off fsync. A crash while loading can lose recent
+     * transactions, which the backfill checkpoints tolerate; queries run slowly meanwhile.
+     */
+    public void beginBulkLoad() throws SQLException {
+        synchronized (this) {
+            try (Statement s = writer.createStatement()) {
+                s.execute("PRAGMA synchronous = OFF;");
+                s.execute("PRAGMA cache_size = -262144;");
+                s.execute("DROP INDEX IF EXISTS idx_events_time;");
+                s.execute("DROP INDEX IF EXISTS idx_events_category;");
+                s.execute("DROP INDEX IF EXISTS idx_events_source;");
+            }
+        }
+    }
+
+    /** Rebuilds the event indexes, restores normal durability and folds the WAL back in. */
+    public void endBulkLoad() throws SQLException {
+        synchronized (this) {
+            try (Statement s = writer.createStatement()) {
+                createEventIndexes(s);
+                s.execute("PRAGMA synchronous = NORMAL;");
+                s.execute("PRAGMA cache_size = -2000;");
+                s.execute("PRAGMA wal_checkpoint(TRUNCATE);");
+            }
+        }
+    }
+
+    /**
+     * Upserts a backfill batch and records its units as done, in one transaction, so a unit
+     * is checkpointed if and only if its events are stored. {@code units} maps unit key to
+     * event count.
+     */
+    public void bulkInsert(Collection<DisasterEvent> events, String job, Map<String, Integer> units) throws SQLException {
+        String sql = """
+            INSERT INTO events (id,title,category,latitude,longitude,source,url,date,magnitude,fingerprint,time_ms)
+            VALUES (?,?,?,?,?,?,?,?,?,?,?)
+            ON CONFLICT(id,source) DO UPDATE SET
+             title=excluded.title, category=excluded.category, latitude=excluded.latitude,
+             longitude=excluded.longitude, url=excluded.url, date=excluded.date, magnitude=excluded.magnitude,
+             fingerprint=excluded.fingerprint, time_ms=excluded.time_ms
+            WHERE events.fingerprint IS NOT excluded.fingerprint;
+            """;
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            boolean autoCommit = writer.getAutoCommit();
+            writer.setAutoCommit(false);
+            try (PreparedStatement p = writer.prepareStatement(sql);
+                 PreparedStatement done = writer.prepareStatement(
+                         "INSERT OR REPLACE INTO backfill_checkpoints (job, unit, events, done_ms) VALUES (?,?,?,?);")) {
+                for (DisasterEvent e : events) {
+                    p.setString(1, e.getId());
+                    p.setString(2, e.getTitle());
+                    p.setString(3, e.getCategory());
+                    p.setDouble(4, e.getLat());
+                    p.setDouble(5, e.getLon());
+                    p.setString(6, e.getSource());
+                    p.setString(7, e.getUrl());
+                    p.setString(8, e.getDate());
+                    p.setDouble(9, e.getMagnitude() != null ? e.getMagnitude() : 0.0);
+                    p.setLong(10, e.contentHash());
+                    p.setLong(11, e.getTime());
+                    p.addBatch();
+                }
+                p.executeBatch();
+                for (Map.Entry<String, Integer> u : units.entrySet()) {
+                    done.setString(1, job);
+                    done.setString(2, u.getKey());
+                    done.setInt(3, u.getValue());
+                    done.setLong(4, now);
+                    done.addBatch();
+                }
+                done.executeBatch();
+                writer.commit();
+            } catch (SQLException ex) {
+                writer.rollback();
+                throw ex;
+            } finally {
+                writer.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /** Unit keys of {@code job} already loaded by earlier backfill runs. */
+    public Set<String> backfilledUnits(String job) throws SQLException {
+        return read(CHECKPOINT_TIME, c -> {
+            Set<String> out = new HashSet<>();
+            try (PreparedStatement p = c.prepareStatement("SELECT unit FROM backfill_checkpoints WHERE job = ?;")) {
+                p.setString(1, job);
+                try (ResultSet rs = p.executeQuery()) {
+                    while (rs.next()) out.add(rs.getString(1));
+                }
+            }
+            return out;
+        });
+    }
+
+    /**
+     * Claims up to {@code limit} deliveries that are pending, or whose previous claim expired
+     * (the sender died mid-batch), marking them SENDING until {@code now + leaseMs}.
+     */
+    public List<OutboxMessage> claimOutbox(int limit, long leaseMs) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return claim(limit, leaseMs);
+        } finally {
+            CLAIM_TIME.observeSince(start);
+        }
+    }
+
+    private List<OutboxMessage> claim(int limit, long leaseMs) throws SQLException {
+        long now = System.currentTimeMillis();
+        String sql = """
+                UPDATE outbox SET state = 'SENDING', lease_until = ?, attempts = attempts + 1
+                WHERE id IN (SELECT id FROM outbox WHERE state IN ('PENDING', 'SENDING') AND lease_until <= ?
+                             ORDER BY id LIMIT ?)
+                RETURNING id, idem_key, channel, recipients, payload, attempts;
+                """;
+        List<OutboxMessage> out = new ArrayList<>();
+        synchronized (this) {
+            try (PreparedStatement p = writer.prepareStatement(sql)) {
+                p.setLong(1, now + leaseMs);
+                p.setLong(2, now);
+                p.setInt(3, limit);
+                try (ResultSet rs = p.executeQuery()) {
+                    while (rs.next()) {
+                        out.add(new OutboxMessage(
+                                rs.getLong("id"),
+                                rs.getString("idem_key"),
+                                rs.getString("channel"),
+                                List.of(GSON.fromJson(rs.getString("recipients"), String[].class)),
+                                GSON.fromJson(rs.getString("payload"), DisasterEvent.class),
+                                rs.getInt("attempts")));
+                    }
+                }
+            }
+        }
+        out.sort(Comparator.comparingLong(OutboxMessage::id));
+        return out;
+    }
+
+    /** Marks deliveries as sent, in a single transaction. */
+    public void markSent(Collection<Long> ids) throws SQLException {
+        if (ids.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            boolean autoCommit = writer.getAutoCommit();
+            writer.setAutoCommit(false);
+            try (PreparedStatement p = writer.prepareStatement(
+                    "UPDATE outbox SET state = 'SENT', sent_ms = ?, last_error = NULL WHERE id = ?;")) {
+                for (long id : ids) {
+                    p.setLong(1, now);
+                    p.setLong(2, id);
+                    p.addBatch();
+                }
+                p.executeBatch();
+                writer.commit();
+            } catch (SQLException ex) {
+                writer.rollback();
+                throw ex;
+            } finally {
+                writer.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Records a failed delivery: it becomes due again at {@code retryAt}, or is parked as
+     * FAILED when {@code giveUp} is set.
+     */
+    public void markFailed(long id, String error, long retryAt, boolean giveUp) throws SQLException {
+        synchronized (this) {
+            try (PreparedStatement p = writer.prepareStatement(
+                    "UPDATE outbox SET state = ?, lease_until = ?, last_error = ? WHERE id = ?;")) {
+                p.setString(1, giveUp ? "FAILED" : "PENDING");
+                p.setLong(2, retryAt);
+                p.setString(3, error);
+                p.setLong(4, id);
+                p.executeUpdate();
+            }
+        }
+    }
+
+    /** Deletes sent deliveries older than the cutoff; returns the number removed. */
+    public int pruneOutbox(long sentBeforeMs) throws SQLException {
+        synchronized (this) {
+            try (PreparedStatement p = writer.prepareStatement(
+                    "DELETE FROM outbox WHERE state = 'SENT' AND sent_ms < ?;")) {
+                p.setLong(1, sentBeforeMs);
+                return p.executeUpdate();
+            }
+        }
+    }
+
+    /** Deliveries not yet sent or given up on. */
+    public int outboxBacklog() throws SQLException {
+        return read(BACKLOG_TIME, c -> {
+            try (Statement s = c.createStatement();
+                 ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM outbox WHERE state IN ('PENDING', 'SENDING');")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        });
+    }
+
+    /** Primary key of an events row. */
+    public record EventKey(String source, String id) {}
+
+    /** Events with a known time before {@code beforeMs}, oldest first. */
+    public List<EventKey> listOlderThan(long beforeMs) throws SQLException {
+        return read(OLDER_THAN_TIME, c -> {
+            List<EventKey> out = new ArrayList<>();
+            try (PreparedStatement ps = c.prepareStatement(
+                    "SELECT source, id FROM events WHERE time_ms > 0 AND time_ms < ? ORDER BY time_ms;")) {
+                ps.setLong(1, beforeMs);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) out.add(new EventKey(rs.getString(1), rs.getString(2)));
+                }
+            }
+            return out;
+        });
+    }
+
+    /**
+     * Moves the given events into monthly {@code events_archive_YYYYMM} tables (by event time,
+     * UTC) in one transaction. Keep batches small: the writer is held for the whole call.
+     * Returns the keys whose rows were actually moved; keys already gone from the table are skipped.
+     */
+    public List<EventKey> archive(Collection<EventKey> keys) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return moveToArchive(keys);
+        } finally {
+            ARCHIVE_TIME.observeSince(start);
+        }
+    }
+
+    private List<EventKey> moveToArchive(Collection<EventKey> keys) throws SQLException {
+        if (keys.isEmpty()) return List.of();
+        String cols = "id,title,category,latitude,longitude,source,url,date,magnitude,time_ms,fingerprint";
+        List<EventKey> moved = new ArrayList<>();
+        synchronized (this) {
+            boolean autoCommit = writer.getAutoCommit();
+            writer.setAutoCommit(false);
+            Map<String, PreparedStatement> copyByTable = new HashMap<>();
+            try (PreparedStatement month = writer.prepareStatement(
+                         "SELECT strftime('%Y%m', time_ms / 1000, 'unixepoch') FROM events WHERE id = ? AND source = ?;");
+                 PreparedStatement delete = writer.prepareStatement("DELETE FROM events WHERE id = ? AND source = ?;")) {
+                for (EventKey k : keys) {
+                    month.setString(1, k.id());
+                    month.setString(2, k.source());
+                    String table;
+                    try (ResultSet rs = month.executeQuery()) {
+                        if (!rs.next()) continue;
+                        table = "events_archive_" + rs.getString(1);
+                    }
+                    PreparedStatement copy = copyByTable.get(table);
+                    if (copy == null) {
+                        try (Statement s = writer.createStatement()) {
+                            s.execute("CREATE TABLE IF NOT EXISTS " + table + " ("
+                                    + "id TEXT, title TEXT, category TEXT, latitude REAL, longitude REAL, source TEXT,"
+                                    + " url TEXT, date TEXT, magnitude REAL, time_ms INTEGER, fingerprint INTEGER,"
+                                    + " PRIMARY KEY (id, source));");
+                        }
+                        copy = writer.prepareStatement("INSERT OR REPLACE INTO " + table + " (" + cols + ") SELECT "
+                                + cols + " FROM events WHERE id = ? AND source = ?;");
+                        copyByTable.put(table, copy);
+                    }
+                    copy.setString(1, k.id());
+                    copy.setString(2, k.source());
+                    copy.executeUpdate();
+                    delete.setString(1, k.id());
+                    delete.setString(2, k.source());
+                    if (delete.executeUpdate() > 0) moved.add(k);
+                }
+                writer.commit();
+                return moved;
+            } catch (SQLException ex) {
+                writer.rollback();
+                throw ex;
+            } finally {
+                for (PreparedStatement p : copyByTable.values()) p.close();
+                writer.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code pages} free pages to the file system. Each call is a short write,
+     * unlike a full VACUUM. Returns the free pages left.
+     */
+    public int incrementalVacuum(int pages) throws SQLException {
+        synchronized (this) {
+            try (Statement s = writer.createStatement()) {
+                // the pragma frees one page per step; execute() steps it only once, executeUpdate()
+                // runs it to completion (executeQuery() refuses it, as it returns no columns)
+                s.executeUpdate("PRAGMA incremental_vacuum(" + pages + ");");
+                try (ResultSet rs = s.executeQuery("PRAGMA freelist_count;")) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+        }
+    }
+
+    /** Maps the current row of an events query to a DisasterEvent. */
+    public static DisasterEvent readEvent(ResultSet rs) throws SQLException {
+        DisasterEvent event = new DisasterEvent();
+        event.setId(rs.getString("id"));
+        event.setTitle(rs.getString("title"));
+        event.setCategory(rs.getString("category"));
+        event.setLat(rs.getDouble("latitude"));
+        event.setLon(rs.getDouble("longitude"));
+        event.setSource(rs.getString("source"));
+        event.setUrl(rs.getString("url"));
+        event.setDate(rs.getString("date"));
+        event.setTime(rs.getLong("time_ms"));
+        event.setMagnitude(rs.getDouble("magnitude"));
+        return event;
+    }
+
+    /** Primary-key lookup; null if no such event. */
+    public DisasterEvent findById(String id, String source) throws SQLException {
+        return read(FIND_TIME, c -> {
+            try (PreparedStatement ps = c.prepareStatement("SELECT * FROM events WHERE id = ? AND source = ?;")) {
+                ps.setString(1, id);
+                ps.setString(2, source);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? readEvent(rs) : null;
+                }
+            }
+        });
+    }
+
+    public List<AlertRule> listRules() throws SQLException {
+        return read(RULES_TIME, c -> {
+            List<AlertRule> out = new ArrayList<>();
+            try (Statement s = c.createStatement();
+                 ResultSet rs = s.executeQuery("SELECT * FROM alert_rules ORDER BY id;")) {
+                while (rs.next()) {
+                    String polygon = rs.getString("polygon");
+                    out.add(new AlertRule(
+                            rs.getLong("id"),
+                            rs.getString("name"),
+                            rs.getString("category"),
+                            rs.getString("source"),
+                            rs.getObject("min_magnitude") == null ? null : rs.getDouble("min_magnitude"),
+                            rs.getObject("lat") == null ? null : rs.getDouble("lat"),
+                            rs.getObject("lon") == null ? null : rs.getDouble("lon"),
+                            rs.getObject("radius_km") == null ? null : rs.getDouble("radius_km"),
+                            polygon == null ? null : GSON.fromJson(polygon, double[][].class),
+                            List.of(GSON.fromJson(rs.getString("recipients"), String[].class))));
+                }
+            }
+            return out;
+        });
+    }
+
+    /** Stores a new rule and returns it with its generated id. */
+    public AlertRule insertRule(AlertRule rule) throws SQLException {
+        String sql = """
+                INSERT INTO alert_rules(name, category, source, min_magnitude, lat, lon, radius_km, polygon, recipients)
+                VALUES(?,?,?,?,?,?,?,?,?);
+                """;
+        synchronized (this) {
+            try (PreparedStatement p = writer.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                p.setString(1, rule.name());
+                p.setString(2, rule.category());
+                p.setString(3, rule.source());
+                p.setObject(4, rule.minMagnitude());
+                p.setObject(5, rule.lat());
+                p.setObject(6, rule.lon());
+                p.setObject(7, rule.radiusKm());
+                p.setString(8, rule.polygon() == null ? null : GSON.toJson(rule.polygon()));
+                p.setString(9, GSON.toJson(rule.recipients()));
+                p.executeUpdate();
+                try (ResultSet keys = p.getGeneratedKeys()) {
+                    keys.next();
+                    return rule.withId(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    public boolean deleteRule(long id) throws SQLException {
+        synchronized (this) {
+            try (PreparedStatement p = writer.prepareStatement("DELETE FROM alert_rules WHERE id = ?;")) {
+                p.setLong(1, id);
+                return p.executeUpdate() > 0;
+            }
+        }
+    }
+
+    // Get all events, newest first
+    public List<DisasterEvent> listAll() throws SQLException {
+        return listFiltered(null, null);
+    }
+
+    public List<DisasterEvent> listFiltered(String category, String source) throws SQLException {
         String sql = "SELECT * FROM events WHERE 1=1";
         if (category != null && !category.isEmpty()) {
             sql += " AND category = ?";
@@ -79,16 +810,61 @@ public class Database {
         if (source != null && !source.isEmpty()) {
             sql += " AND source = ?";
         }
-        sql += " ORDER BY date DESC;";
+        sql += " ORDER BY time_ms DESC, source DESC, id DESC;";
 
-        PreparedStatement ps = connection.prepareStatement(sql);
-        int paramIndex = 1;
-        if (category != null && !category.isEmpty()) {
-            ps.setString(paramIndex++, category);
-        }
-        if (source != null && !source.isEmpty()) {
-            ps.setString(paramIndex, source);
-        }
-        return ps.executeQuery();
+        String query = sql;
+        return read(LIST_TIME, c -> {
+            List<DisasterEvent> out = new ArrayList<>();
+            try (PreparedStatement ps = c.prepareStatement(query)) {
+                int paramIndex = 1;
+                if (category != null && !category.isEmpty()) {
+                    ps.setString(paramIndex++, category);
+                }
+                if (source != null && !source.isEmpty()) {
+                    ps.setString(paramIndex, source);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) out.add(readEvent(rs));
+                }
+            }
+            return out;
+        });
+    }
+
+    /**
+     * One page of events in {@code /events} order, optionally limited to {@code sinceMs <= time < untilMs},
+     * starting after {@code after} (null for the first page). Walks the time index, so the cost
+     * depends on {@code limit} and not on the table size.
+     */
+    public List<DisasterEvent> listPage(String category, String source, Long sinceMs, Long untilMs,
+                                        PageCursor after, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM events WHERE 1=1");
+        if (category != null && !category.isEmpty()) sql.append(" AND category = ?");
+        if (source != null && !source.isEmpty()) sql.append(" AND source = ?");
+        if (sinceMs != null) sql.append(" AND time_ms >= ?");
+        if (untilMs != null) sql.append(" AND time_ms < ?");
+        if (after != null) sql.append(" AND (time_ms, source, id) < (?, ?, ?)");
+        sql.append(" ORDER BY time_ms DESC, source DESC, id DESC LIMIT ?;");
+
+        return read(PAGE_TIME, c -> {
+            List<DisasterEvent> out = new ArrayList<>(limit);
+            try (PreparedStatement ps = c.prepareStatement(sql.toString())) {
+                int i = 1;
+                if (category != null && !category.isEmpty()) ps.setString(i++, category);
+                if (source != null && !source.isEmpty()) ps.setString(i++, source);
+                if (sinceMs != null) ps.setLong(i++, sinceMs);
+                if (untilMs != null) ps.setLong(i++, untilMs);
+                if (after != null) {
+                    ps.setLong(i++, after.time());
+                    ps.setString(i++, after.source());
+                    ps.setString(i++, after.id());
+                }
+                ps.setInt(i, limit);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) out.add(readEvent(rs));
+                }
+            }
+            return out;
+        });
     }
-}
\ No newline at end of file
+}
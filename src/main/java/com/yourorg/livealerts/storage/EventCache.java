@@ -0,0 +1,73 @@
+package com.yourorg.livealerts.storage;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.yourorg.livealerts.ingest.ChangeListener;
+import com.yourorg.livealerts.ingest.EventChange;
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * Bounded LRU cache of single events in front of {@link Database#findById}. Registered as an
+ * ingest listener, so an entry is dropped as soon as a newer version of that event is written.
+ */
+public class EventCache implements ChangeListener {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Database db;
+    private final Map<String, DisasterEvent> entries;
+    // bumped on every invalidation; a lookup that raced with one does not populate the cache
+    private long generation;
+
+    public EventCache(Database db) {
+        this(db, DEFAULT_CAPACITY);
+    }
+
+    public EventCache(Database db, int capacity) {
+        this.db = db;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DisasterEvent> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** The event with this key, or null if it is not stored. */
+    public DisasterEvent find(String id, String source) throws SQLException {
+        String key = key(source, id);
+        long seen;
+        synchronized (this) {
+            DisasterEvent hit = entries.get(key);
+            if (hit != null) return hit;
+            seen = generation;
+        }
+        DisasterEvent loaded = db.findById(id, source);
+        if (loaded != null) {
+            synchronized (this) {
+                if (generation == seen) entries.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void onChanges(String source, List<EventChange> changes) {
+        synchronized (this) {
+            for (EventChange c : changes) {
+                if (c.isWrite() || c.type() == EventChange.Type.ARCHIVED) entries.remove(key(c.source(), c.id()));
+            }
+            generation++;
+        }
+    }
+
+    private static String key(String source, String id) {
+        return source + '\0' + id;
+    }
+}
@@ -0,0 +1,28 @@
+package com.yourorg.livealerts.storage;
+
+import java.util.List;
+import java.util.TreeSet;
+
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * One pending delivery of an event to a recipient group over a channel, as stored in the
+ * {@code outbox} table. {@code key} is the idempotency key: enqueueing the same delivery
+ * twice keeps a single row.
+ */
+public record OutboxMessage(long id, String key, String channel, List<String> recipients,
+                            DisasterEvent event, int attempts) {
+
+    public static final String EMAIL = "email";
+
+    /**
+     * A new email delivery. The key covers the event version (its content hash) and the
+     * recipient set, so a changed event or a different group is a separate delivery.
+     */
+    public static OutboxMessage email(DisasterEvent event, List<String> recipients) {
+        String group = Integer.toHexString(String.join(",", new TreeSet<>(recipients)).hashCode());
+        String key = EMAIL + ':' + event.getSource() + ':' + event.getId() + ':'
+                + Long.toHexString(event.contentHash()) + ':' + group;
+        return new OutboxMessage(0, key, EMAIL, List.copyOf(recipients), event, 0);
+    }
+}
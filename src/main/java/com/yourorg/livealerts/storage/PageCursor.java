@@ -0,0 +1,31 @@
+package com.yourorg.livealerts.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.yourorg.livealerts.model.DisasterEvent;
+
+/**
+ * Keyset position in the {@code /events} order (time DESC, source DESC, id DESC).
+ * Encoded as an opaque URL-safe token so clients just echo it back.
+ */
+public record PageCursor(long time, String source, String id) {
+    private static final char SEP = '\u0000';
+
+    public static PageCursor after(DisasterEvent last) {
+        return new PageCursor(last.getTime(), last.getSource(), last.getId());
+    }
+
+    public String encode() {
+        String raw = time + String.valueOf(SEP) + source + SEP + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException if the token is not one we issued */
+    public static PageCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split(String.valueOf(SEP), -1);
+        if (parts.length != 3) throw new IllegalArgumentException("Malformed cursor");
+        return new PageCursor(Long.parseLong(parts[0]), parts[1], parts[2]);
+    }
+}
@@ -11,12 +11,17 @@ const filterCategory = document.getElementById('filterCategory');
 const filterSource = document.getElementById('filterSource');
 
 let allEvents = [];
-const categories = new Set();
-const sources = new Set();
+// filter options -> event count (null until /stats reports it)
+const categories = new Map();
+const sources = new Map();
 
 let currentPage = 1;
 const pageSize = 20;
 
+// live updates arrive over SSE; this slow poll is only a safety net (usually a cheap 304)
+const FALLBACK_POLL_MS = 5 * 60 * 1000;
+let pushRenderTimer = null;
+
 /* =============================
    Custom dropdown (robust)
    ============================= */
@@ -232,18 +237,11 @@ async function fetchEvents() {
     const params = new URLSearchParams();
     if (filterCategory && filterCategory.value) params.append('category', filterCategory.value);
     if (filterSource && filterSource.value) params.append('source', filterSource.value);
-    const res = await fetch('/events?' + params.toString());
+    const [res] = await Promise.all([fetch('/events?' + params.toString()), loadFilterOptions()]);
     if (!res.ok) throw new Error('HTTP ' + res.status);
     const data = await res.json();
     allEvents = data;
 
-    categories.clear();
-    sources.clear();
-    data.forEach(e => {
-      if (e.category) categories.add(e.category);
-      if (e.source) sources.add(e.source);
-    });
-
     updateFilterDropdowns();
     currentPage = 1;
     renderEvents();
@@ -256,14 +254,30 @@ async function fetchEvents() {
   }
 }
 
+// options come from /stats, so they list every stored category and source (with counts)
+// without walking the event list, even while a filter narrows it
+async function loadFilterOptions() {
+  const res = await fetch('/stats');
+  if (!res.ok) throw new Error('HTTP ' + res.status);
+  const stats = await res.json();
+  categories.clear();
+  sources.clear();
+  (stats.categories || []).forEach(g => { if (g.name) categories.set(g.name, g.count); });
+  (stats.sources || []).forEach(g => { if (g.name) sources.set(g.name, g.count); });
+}
+
+function optionLabel(name, count) {
+  return count == null ? name : `${name} (${count})`;
+}
+
 function updateFilterDropdowns() {
   const currentCategory = filterCategory ? filterCategory.value : '';
   if (filterCategory) {
     filterCategory.innerHTML = '<option value="">All Categories</option>';
-    Array.from(categories).sort().forEach(cat => {
+    Array.from(categories.keys()).sort().forEach(cat => {
       const opt = document.createElement('option');
       opt.value = cat;
-      opt.textContent = cat;
+      opt.textContent = optionLabel(cat, categories.get(cat));
       if (cat === currentCategory) opt.selected = true;
       filterCategory.appendChild(opt);
     });
@@ -273,10 +287,10 @@ function updateFilterDropdowns() {
   const currentSource = filterSource ? filterSource.value : '';
   if (filterSource) {
     filterSource.innerHTML = '<option value="">All Sources</option>';
-    Array.from(sources).sort().forEach(src => {
+    Array.from(sources.keys()).sort().forEach(src => {
       const opt = document.createElement('option');
       opt.value = src;
-      opt.textContent = src;
+      opt.textContent = optionLabel(src, sources.get(src));
       if (src === currentSource) opt.selected = true;
       filterSource.appendChild(opt);
     });
@@ -297,7 +311,7 @@ function renderEvents() {
     return true;
   });
 
-  filteredList.sort((a,b) => parseDate(b.date) - parseDate(a.date));
+  filteredList.sort((a,b) => eventTime(b) - eventTime(a));
 
   const totalCount = filteredList.length;
   const totalPages = Math.max(1, Math.ceil(totalCount / pageSize));
@@ -328,7 +342,7 @@ function renderEvents() {
       const catBadge = `<span class="badge">${escapeHtml(e.category || 'unknown')}</span>`;
       const sourceBadge = `<span class="badge source">${escapeHtml(e.source || '')}</span>`;
       const title = `<strong>${escapeHtml(e.title || 'Untitled')}</strong>`;
-      const meta = `<div class="meta">${catBadge}${sourceBadge}<span>📅 ${formatDate(e.date)}</span></div>`;
+      const meta = `<div class="meta">${catBadge}${sourceBadge}<span>📅 ${formatTime(eventTime(e))}</span></div>`;
       const latNum = Number(e.latitude || e.lat);
       const lonNum = Number(e.longitude || e.lon);
       let coords = '-';
@@ -394,10 +408,72 @@ function parseDate(d) {
   const t = Date.parse(d);
   return isNaN(t) ? 0 : t;
 }
-function formatDate(d) { const t = parseDate(d); if (!t) return '-'; return new Date(t).toLocaleString(); }
+// the server normalizes every date to epoch millis in `time`; parseDate is the fallback for older payloads
+function eventTime(e) { return e.time || parseDate(e.date); }
+function formatTime(t) { if (!t) return '-'; return new Date(t).toLocaleString(); }
 function escapeHtml(s) { if (!s) return ''; return String(s).replace(/[&<>"']/g, (c) => ({'&':'&amp;','<':'&lt;','>':'&gt;','"':'&quot;',"'":'&#39;'}[c])); }
 function escapeAttr(s){ return escapeHtml(s).replace(/"/g,'&quot;'); }
 
+/* -----------------------------
+   Live updates (Server-Sent Events)
+   ----------------------------- */
+
+function applyPushedEvent(msg) {
+  let ev;
+  try { ev = JSON.parse(msg.data); } catch (err) { return; }
+  if (!ev || !ev.id) return;
+  const idx = allEvents.findIndex(e => e.id === ev.id && e.source === ev.source);
+  if (idx >= 0) allEvents[idx] = ev;
+  else allEvents.push(ev);
+
+  const newFilterValue = (ev.category && !categories.has(ev.category)) || (ev.source && !sources.has(ev.source));
+  if (newFilterValue) {
+    if (ev.category && !categories.has(ev.category)) categories.set(ev.category, null);
+    if (ev.source && !sources.has(ev.source)) sources.set(ev.source, null);
+    updateFilterDropdowns();
+  }
+
+  // coalesce bursts (one ingest cycle can push many events) into a single re-render
+  if (pushRenderTimer) return;
+  pushRenderTimer = setTimeout(() => {
+    pushRenderTimer = null;
+    renderEvents();
+    lastEl.textContent = '🕐 Last update: ' + new Date().toLocaleString();
+  }, 300);
+}
+
+// retention moved the event out of the live table
+function applyArchivedEvent(msg) {
+  let ev;
+  try { ev = JSON.parse(msg.data); } catch (err) { return; }
+  if (!ev || !ev.id) return;
+  const idx = allEvents.findIndex(e => e.id === ev.id && e.source === ev.source);
+  if (idx < 0) return;
+  allEvents.splice(idx, 1);
+  if (pushRenderTimer) return;
+  pushRenderTimer = setTimeout(() => {
+    pushRenderTimer = null;
+    renderEvents();
+  }, 300);
+}
+
+function startLiveUpdates() {
+  if (!window.EventSource) {
+    setInterval(fetchEvents, 15000);
+    return;
+  }
+  const stream = new EventSource('/events/stream');
+  stream.addEventListener('new', applyPushedEvent);
+  stream.addEventListener('updated', applyPushedEvent);
+  stream.addEventListener('archived', applyArchivedEvent);
+  // server could not resume from our Last-Event-ID: reload the full list
+  stream.addEventListener('reset', () => { fetchEvents(); });
+  stream.onopen = () => { statusEl.textContent = '✅'; };
+  // EventSource reconnects by itself and resumes with Last-Event-ID
+  stream.onerror = () => { statusEl.textContent = '⚠️'; };
+  setInterval(fetchEvents, FALLBACK_POLL_MS);
+}
+
 /* -----------------------------
    Event listeners & startup
    ----------------------------- */
@@ -417,7 +493,7 @@ document.addEventListener('click', async function(e) {
       const res = await fetch(`/send-email?id=${encodeURIComponent(id)}&source=${encodeURIComponent(source)}`);
       const text = await res.text();
       if (res.ok) {
-        e.target.textContent = 'Sent!';
+        e.target.textContent = res.status === 202 ? 'Queued!' : 'Sent!';
         setTimeout(() => { e.target.textContent = '✉️ Send Email'; e.target.disabled = false; }, 2000);
       } else {
         e.target.textContent = 'Error';
@@ -436,5 +512,5 @@ document.addEventListener('DOMContentLoaded', () => {
   console.info('[app] DOMContentLoaded - initializing custom dropdowns and fetching events');
   initCustomDropdownsGuaranteed();
   fetchEvents();
-  setInterval(fetchEvents, 15000);
+  startLiveUpdates();
 });